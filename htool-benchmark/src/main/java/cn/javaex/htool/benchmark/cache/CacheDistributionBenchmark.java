@@ -0,0 +1,172 @@
+package cn.javaex.htool.benchmark.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import cn.javaex.htool.cache.CacheBuilder;
+import cn.javaex.htool.cache.CacheUtils;
+import cn.javaex.htool.cache.enums.EvictionPolicy;
+import cn.javaex.htool.cache.manager.ICacheManager;
+
+/**
+ * 不同访问分布下的缓存性能：吞吐量、延迟分位数（SampleTime）、分配速率（GC profiler）
+ * <p>
+ * cacheUtilsGet：通过CacheUtils读取默认缓存区域（不限容量，全部命中）；
+ * boundedGet：限制容量的缓存实例，未命中时写入，命中率和淘汰开销随分布和淘汰策略变化。
+ * <p>
+ * 运行全部线程数（1 ~ 64）：java -cp htool-benchmark/target/benchmarks.jar cn.javaex.htool.benchmark.cache.CacheDistributionBenchmark
+ * <br>
+ * 指定线程数：java -cp htool-benchmark/target/benchmarks.jar cn.javaex.htool.benchmark.cache.CacheDistributionBenchmark 1 8 32
+ * <br>
+ * 也可直接使用JMH命令行：java -jar htool-benchmark/target/benchmarks.jar CacheDistributionBenchmark -t 8 -prof gc
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheDistributionBenchmark {
+	
+	/**
+	 * 访问序列长度（2的幂）
+	 */
+	private static final int TRACE_LENGTH = 1 << 20;
+	private static final long SEED = 20261017L;
+	
+	/**
+	 * key和访问序列
+	 */
+	@State(Scope.Benchmark)
+	public static class Workload {
+		@Param({"ZIPFIAN", "UNIFORM", "SCAN"})
+		KeyDistribution distribution;
+		
+		@Param({"1048576"})
+		int keyCount;
+		
+		String[] keys;
+		int[] trace;
+		
+		@Setup(Level.Trial)
+		public void setUp() {
+			keys = new String[keyCount];
+			for (int i = 0; i < keyCount; i++) {
+				keys[i] = "key:" + i;
+			}
+			trace = distribution.trace(keyCount, TRACE_LENGTH, SEED);
+		}
+	}
+	
+	/**
+	 * 默认缓存区域，预先写入全部key
+	 */
+	@State(Scope.Benchmark)
+	public static class DefaultRegion {
+		@Setup(Level.Trial)
+		public void setUp(Workload workload) {
+			CacheUtils.removeAll();
+			for (String key : workload.keys) {
+				CacheUtils.setCache(key, key);
+			}
+		}
+	}
+	
+	/**
+	 * 容量为key数量1/10的缓存实例，预先按访问序列预热
+	 */
+	@State(Scope.Benchmark)
+	public static class BoundedCache {
+		@Param({"LRU", "LFU", "W_TINY_LFU"})
+		EvictionPolicy policy;
+		
+		ICacheManager cache;
+		
+		@Setup(Level.Trial)
+		public void setUp(Workload workload) {
+			cache = CacheBuilder.newBuilder()
+					.maximumSize(workload.keyCount / 10)
+					.evictionPolicy(policy)
+					.build();
+			for (int index : workload.trace) {
+				String key = workload.keys[index];
+				if (cache.getCache(key) == null) {
+					cache.setCache(key, key);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * 每个线程从访问序列的不同位置开始读取
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+		int index;
+		
+		@Setup(Level.Trial)
+		public void setUp() {
+			index = (int) (Thread.currentThread().getId() * 0x9E3779B9L) & (TRACE_LENGTH - 1);
+		}
+		
+		int next(int[] trace) {
+			int keyIndex = trace[index];
+			index = (index + 1) & (TRACE_LENGTH - 1);
+			return keyIndex;
+		}
+	}
+	
+	@Benchmark
+	public Object cacheUtilsGet(Workload workload, DefaultRegion region, Cursor cursor) {
+		return CacheUtils.getCache(workload.keys[cursor.next(workload.trace)]);
+	}
+	
+	@Benchmark
+	public Object boundedGet(Workload workload, BoundedCache bounded, Cursor cursor) {
+		String key = workload.keys[cursor.next(workload.trace)];
+		Object value = bounded.cache.getCache(key);
+		if (value == null) {
+			bounded.cache.setCache(key, key);
+		}
+		return value;
+	}
+	
+	/**
+	 * 依次以给定的线程数运行（默认1、2、4、8、16、32、64），附带GC profiler统计分配速率
+	 */
+	public static void main(String[] args) throws RunnerException {
+		int[] threadCounts = args.length == 0 ? new int[] {1, 2, 4, 8, 16, 32, 64} : new int[args.length];
+		for (int i = 0; i < args.length; i++) {
+			threadCounts[i] = Integer.parseInt(args[i]);
+		}
+		
+		for (int threads : threadCounts) {
+			Options options = new OptionsBuilder()
+					.include(CacheDistributionBenchmark.class.getSimpleName())
+					.threads(threads)
+					.addProfiler(GCProfiler.class)
+					.build();
+			new Runner(options).run();
+		}
+	}
+	
+}
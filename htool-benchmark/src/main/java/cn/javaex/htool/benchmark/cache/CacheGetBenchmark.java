@@ -0,0 +1,150 @@
+package cn.javaex.htool.benchmark.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import cn.javaex.htool.cache.CacheBuilder;
+import cn.javaex.htool.cache.manager.ICacheManager;
+import cn.javaex.htool.cache.model.CacheInfo;
+
+/**
+ * 缓存读取路径对比：旧版（最多4次map查询）与单次查询
+ * <p>
+ * 运行：java -cp htool-benchmark/target/benchmarks.jar cn.javaex.htool.benchmark.cache.CacheGetBenchmark
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheGetBenchmark {
+	
+	/**
+	 * 被读取的缓存，一半key带过期时间（不会在测试期间过期）
+	 */
+	@State(Scope.Benchmark)
+	public static class CacheState {
+		/**
+		 * key数量，取2的幂；较大时map超出CPU缓存，多余的查询代价更明显
+		 */
+		@Param({"16384", "1048576"})
+		int keyCount;
+		
+		String[] keys;
+		Map<String, CacheInfo> legacyMap;
+		ICacheManager cache;
+		
+		@Setup
+		public void setUp() {
+			keys = new String[keyCount];
+			legacyMap = new ConcurrentHashMap<String, CacheInfo>();
+			cache = CacheBuilder.newBuilder().build();
+			
+			long now = System.currentTimeMillis();
+			for (int i = 0; i < keyCount; i++) {
+				keys[i] = "key:" + i;
+				long expireTime = (i & 1) == 0 ? 0L : 3600000L;
+				legacyMap.put(keys[i], new CacheInfo(i, expireTime, now));
+				cache.setCache(keys[i], i, expireTime);
+			}
+		}
+	}
+	
+	/**
+	 * 每个线程独立的读取游标
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+		int mask;
+		int index;
+		
+		@Setup
+		public void setUp(CacheState state) {
+			mask = state.keyCount - 1;
+			index = (int) (Thread.currentThread().getId() * 0x9E3779B9L) & mask;
+		}
+		
+		/**
+		 * 按固定奇数步长跳跃读取，避免顺序访问被硬件预取掩盖
+		 */
+		int next() {
+			return index = (index + 0x9E3779B1) & mask;
+		}
+	}
+	
+	@Benchmark
+	public Object legacyGet(CacheState state, Cursor cursor) {
+		return legacyGetCache(state.legacyMap, state.keys[cursor.next()]);
+	}
+	
+	@Benchmark
+	public Object singleLookupGet(CacheState state, Cursor cursor) {
+		return state.cache.getCache(state.keys[cursor.next()]);
+	}
+	
+	/**
+	 * 旧版CacheManagerImpl.getCache的读取逻辑：isExistsKey、isExpire（containsKey + get）、get
+	 */
+	private static Object legacyGetCache(Map<String, CacheInfo> cacheMap, String key) {
+		if (!cacheMap.containsKey(key)) {
+			return null;
+		}
+		
+		if (legacyIsExpire(cacheMap, key)) {
+			if (cacheMap.containsKey(key)) {
+				cacheMap.remove(key);
+			}
+			return null;
+		}
+		
+		return cacheMap.get(key).getData();
+	}
+	
+	private static boolean legacyIsExpire(Map<String, CacheInfo> cacheMap, String key) {
+		if (!cacheMap.containsKey(key)) {
+			return true;
+		}
+		
+		CacheInfo cache = cacheMap.get(key);
+		long expireTime = cache.getExpireTime();
+		if (expireTime == 0) {
+			return false;
+		}
+		
+		return (System.currentTimeMillis() - cache.getLastRefeshTime()) >= expireTime;
+	}
+	
+	/**
+	 * 依次以1、2、4、8、16、32、64个线程运行
+	 */
+	public static void main(String[] args) throws RunnerException {
+		for (int threads = 1; threads <= 64; threads <<= 1) {
+			Options options = new OptionsBuilder()
+					.include(CacheGetBenchmark.class.getSimpleName())
+					.threads(threads)
+					.build();
+			new Runner(options).run();
+		}
+	}
+	
+}
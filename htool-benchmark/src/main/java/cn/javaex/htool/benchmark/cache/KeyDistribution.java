@@ -0,0 +1,73 @@
+package cn.javaex.htool.benchmark.cache;
+
+import java.util.Random;
+
+/**
+ * 访问key的分布，生成预先计算好的访问序列（测量时只按序读取下标，不产生随机数开销）
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public enum KeyDistribution {
+	/** Zipfian分布（θ=0.99），少数热点key占大部分访问，接近真实业务 */
+	ZIPFIAN {
+		@Override
+		public int[] trace(int keyCount, int length, long seed) {
+			ZipfianGenerator generator = new ZipfianGenerator(keyCount, seed);
+			int[] trace = new int[length];
+			for (int i = 0; i < length; i++) {
+				trace[i] = generator.next();
+			}
+			return trace;
+		}
+	},
+	/** 均匀分布，没有热点，命中率约等于缓存容量占比 */
+	UNIFORM {
+		@Override
+		public int[] trace(int keyCount, int length, long seed) {
+			Random random = new Random(seed);
+			int[] trace = new int[length];
+			for (int i = 0; i < length; i++) {
+				trace[i] = random.nextInt(keyCount);
+			}
+			return trace;
+		}
+	},
+	/** Zipfian热点访问中穿插大段的顺序扫描（如报表、批量导出），检验淘汰策略抵抗扫描污染的能力 */
+	SCAN {
+		@Override
+		public int[] trace(int keyCount, int length, long seed) {
+			ZipfianGenerator generator = new ZipfianGenerator(keyCount, seed);
+			int[] trace = new int[length];
+			int scanPosition = 0;
+			for (int i = 0; i < length; i += SCAN_RUN) {
+				int end = Math.min(length, i + SCAN_RUN);
+				boolean scan = ((i / SCAN_RUN) & 1) == 1;
+				for (int j = i; j < end; j++) {
+					if (scan) {
+						trace[j] = scanPosition;
+						scanPosition = (scanPosition + 1) % keyCount;
+					} else {
+						trace[j] = generator.next();
+					}
+				}
+			}
+			return trace;
+		}
+	};
+	
+	/**
+	 * 热点访问与顺序扫描交替的段长
+	 */
+	private static final int SCAN_RUN = 4096;
+	
+	/**
+	 * 生成访问序列
+	 * @param keyCount : key数量
+	 * @param length : 序列长度
+	 * @param seed : 随机种子，相同参数生成相同序列
+	 * @return key下标
+	 */
+	public abstract int[] trace(int keyCount, int length, long seed);
+	
+}
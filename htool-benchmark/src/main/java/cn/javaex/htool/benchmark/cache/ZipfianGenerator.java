@@ -0,0 +1,81 @@
+package cn.javaex.htool.benchmark.cache;
+
+import java.util.Random;
+
+/**
+ * Zipfian分布随机数（YCSB的算法），排名越靠前的元素被选中的概率越高
+ * <p>
+ * 生成的排名再经过散列打散，热点key不会集中在相邻的位置。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class ZipfianGenerator {
+	
+	/**
+	 * YCSB默认的偏斜系数
+	 */
+	public static final double DEFAULT_THETA = 0.99;
+	
+	private final int itemCount;
+	private final double theta;
+	private final double alpha;
+	private final double zetan;
+	private final double eta;
+	private final Random random;
+	
+	public ZipfianGenerator(int itemCount, long seed) {
+		this(itemCount, DEFAULT_THETA, seed);
+	}
+	
+	public ZipfianGenerator(int itemCount, double theta, long seed) {
+		this.itemCount = itemCount;
+		this.theta = theta;
+		this.alpha = 1.0 / (1.0 - theta);
+		this.zetan = zeta(itemCount, theta);
+		double zeta2 = zeta(2, theta);
+		this.eta = (1 - Math.pow(2.0 / itemCount, 1 - theta)) / (1 - zeta2 / zetan);
+		this.random = new Random(seed);
+	}
+	
+	/**
+	 * 下一个元素下标（0 ~ itemCount-1）
+	 * @return
+	 */
+	public int next() {
+		return (int) ((scramble(nextRank()) & Long.MAX_VALUE) % itemCount);
+	}
+	
+	/**
+	 * 下一个排名，0最热
+	 */
+	private long nextRank() {
+		double u = random.nextDouble();
+		double uz = u * zetan;
+		if (uz < 1.0) {
+			return 0;
+		}
+		if (uz < 1.0 + Math.pow(0.5, theta)) {
+			return 1;
+		}
+		return Math.min(itemCount - 1, (long) (itemCount * Math.pow(eta * u - eta + 1, alpha)));
+	}
+	
+	private static double zeta(long n, double theta) {
+		double sum = 0;
+		for (long i = 1; i <= n; i++) {
+			sum += 1 / Math.pow(i, theta);
+		}
+		return sum;
+	}
+	
+	private static long scramble(long x) {
+		x ^= x >>> 33;
+		x *= 0xff51afd7ed558ccdL;
+		x ^= x >>> 33;
+		x *= 0xc4ceb9fe1a85ec53L;
+		x ^= x >>> 33;
+		return x;
+	}
+	
+}
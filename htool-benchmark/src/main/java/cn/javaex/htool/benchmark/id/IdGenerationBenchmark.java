@@ -0,0 +1,72 @@
+package cn.javaex.htool.benchmark.id;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import cn.javaex.htool.core.id.IdUtils;
+import cn.javaex.htool.core.id.UlidGenerator;
+import cn.javaex.htool.core.id.UuidV7Generator;
+
+/**
+ * 字符串ID生成对比：旧版getUUID（SecureRandom + toString + replace）、新版getUUID（SecureRandom + 直接编码）、UUIDv7、ULID
+ * <p>
+ * 运行：java -cp htool-benchmark/target/benchmarks.jar cn.javaex.htool.benchmark.id.IdGenerationBenchmark
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGenerationBenchmark {
+	
+	@Benchmark
+	public String legacyUUID() {
+		return UUID.randomUUID().toString().replace("-", "");
+	}
+	
+	@Benchmark
+	public String getUUID() {
+		return IdUtils.getUUID();
+	}
+	
+	@Benchmark
+	public String uuidV7() {
+		return UuidV7Generator.nextHex();
+	}
+	
+	@Benchmark
+	public String ulid() {
+		return UlidGenerator.next();
+	}
+	
+	/**
+	 * 依次以1、4、16个线程运行，附带GC profiler统计分配速率
+	 */
+	public static void main(String[] args) throws RunnerException {
+		for (int threads = 1; threads <= 16; threads <<= 2) {
+			Options options = new OptionsBuilder()
+					.include(IdGenerationBenchmark.class.getSimpleName())
+					.threads(threads)
+					.addProfiler(GCProfiler.class)
+					.build();
+			new Runner(options).run();
+		}
+	}
+	
+}
@@ -0,0 +1,252 @@
+package cn.javaex.htool.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import cn.javaex.htool.cache.loader.AsyncCacheLoader;
+import cn.javaex.htool.cache.manager.ICacheManager;
+import cn.javaex.htool.cache.manager.impl.CacheManagerImpl;
+import cn.javaex.htool.cache.model.CacheInfo;
+import cn.javaex.htool.cache.stats.IStatsCounter;
+import cn.javaex.htool.cache.stats.impl.DisabledStatsCounter;
+
+/**
+ * 异步缓存
+ * <p>
+ * 读写都返回CompletableFuture，调用线程不会因为加载而阻塞。
+ * 读取缓存也在异步线程池中进行（配置了读穿透或堆外层时读取可能较慢）；
+ * 未命中时同一个key同一时刻只有一次加载，其它调用共享这次加载的结果。
+ * 加载结果为null时不写入缓存。
+ * 示例：CacheBuilder.newBuilder().maximumSize(10000).asyncExecutor(executor).buildAsync();
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class AsyncCacheManager {
+	
+	/**
+	 * 使用缓存实例的默认过期时间
+	 */
+	private static final long DEFAULT_EXPIRE_TIME = -1L;
+	
+	private final ICacheManager cacheManager;
+	private final Executor executor;
+	
+	/**
+	 * 加载次数和耗时记入缓存实例的统计
+	 */
+	private final IStatsCounter statsCounter;
+	
+	/**
+	 * 正在加载的key
+	 */
+	private final ConcurrentMap<String, CompletableFuture<Object>> loadingMap = new ConcurrentHashMap<String, CompletableFuture<Object>>();
+	
+	/**
+	 * 使用ForkJoinPool.commonPool()执行异步操作
+	 * @param cacheManager
+	 */
+	public AsyncCacheManager(ICacheManager cacheManager) {
+		this(cacheManager, ForkJoinPool.commonPool());
+	}
+	
+	public AsyncCacheManager(ICacheManager cacheManager, Executor executor) {
+		if (cacheManager == null) {
+			throw new IllegalArgumentException("cacheManager must not be null");
+		}
+		if (executor == null) {
+			throw new IllegalArgumentException("executor must not be null");
+		}
+		this.cacheManager = cacheManager;
+		this.executor = executor;
+		this.statsCounter = cacheManager instanceof CacheManagerImpl
+				? ((CacheManagerImpl) cacheManager).getStatsCounter()
+				: DisabledStatsCounter.INSTANCE;
+	}
+	
+	/**
+	 * 获取同步缓存实例
+	 * @return
+	 */
+	public ICacheManager getCacheManager() {
+		return cacheManager;
+	}
+	
+	public Executor getExecutor() {
+		return executor;
+	}
+	
+	/**
+	 * 读取缓存；该key正在加载时等待加载结果
+	 * @param key
+	 * @return 未命中且没有在加载时结果为null
+	 */
+	public CompletableFuture<Object> getAsync(String key) {
+		return CompletableFuture.supplyAsync(() -> cacheManager.getCache(key), executor).thenCompose(value -> {
+			if (value != null) {
+				return CompletableFuture.completedFuture(value);
+			}
+			
+			CompletableFuture<Object> loading = loadingMap.get(key);
+			return loading != null ? copy(loading) : CompletableFuture.completedFuture(null);
+		});
+	}
+	
+	/**
+	 * 读取缓存，未命中时在异步线程池中调用同步加载函数（使用缓存实例的默认过期时间）
+	 * @param key
+	 * @param loader : 同步加载函数
+	 * @return
+	 */
+	public CompletableFuture<Object> getAsync(String key, Function<String, Object> loader) {
+		return this.getAsync(key, (k, ex) -> CompletableFuture.supplyAsync(() -> loader.apply(k), ex), DEFAULT_EXPIRE_TIME);
+	}
+	
+	/**
+	 * 读取缓存，未命中时异步加载（使用缓存实例的默认过期时间）
+	 * @param key
+	 * @param loader : 异步加载函数
+	 * @return
+	 */
+	public CompletableFuture<Object> getAsync(String key, AsyncCacheLoader loader) {
+		return this.getAsync(key, loader, DEFAULT_EXPIRE_TIME);
+	}
+	
+	/**
+	 * 读取缓存，未命中时异步加载
+	 * @param key
+	 * @param loader : 异步加载函数
+	 * @param expireTime : 过期时间，单位（毫秒），为0时表示不失效
+	 * @return
+	 */
+	public CompletableFuture<Object> getAsync(String key, AsyncCacheLoader loader, long expireTime) {
+		return CompletableFuture.supplyAsync(() -> cacheManager.getCache(key), executor).thenCompose(value -> {
+			if (value != null) {
+				return CompletableFuture.completedFuture(value);
+			}
+			return this.load(key, loader, expireTime);
+		});
+	}
+	
+	/**
+	 * 未命中时加载，同一个key同一时刻只有一次加载
+	 */
+	private CompletableFuture<Object> load(String key, AsyncCacheLoader loader, long expireTime) {
+		CompletableFuture<Object> future = new CompletableFuture<Object>();
+		CompletableFuture<Object> loading = loadingMap.putIfAbsent(key, future);
+		if (loading != null) {
+			return copy(loading);
+		}
+		
+		// 抢到加载权之前，可能已有加载完成
+		Object value = this.getIfPresent(key);
+		if (value != null) {
+			loadingMap.remove(key, future);
+			future.complete(value);
+			return copy(future);
+		}
+		
+		long startTime = System.nanoTime();
+		CompletableFuture<Object> loadFuture;
+		try {
+			loadFuture = loader.asyncLoad(key, executor);
+			if (loadFuture == null) {
+				loadFuture = CompletableFuture.completedFuture(null);
+			}
+		} catch (Throwable e) {
+			loadFuture = new CompletableFuture<Object>();
+			loadFuture.completeExceptionally(e);
+		}
+		
+		loadFuture.whenComplete((result, e) -> {
+			long loadTime = System.nanoTime() - startTime;
+			Throwable failure = e;
+			if (e == null && result != null) {
+				statsCounter.recordLoadSuccess(loadTime);
+				try {
+					this.put(key, result, expireTime);
+				} catch (Throwable putException) {
+					// 写入缓存失败（如同步写入后端失败）时，调用方也应该收到异常
+					failure = putException;
+				}
+			} else {
+				statsCounter.recordLoadFailure(loadTime);
+			}
+			
+			// 先写入缓存再移除，之后的读取直接命中
+			loadingMap.remove(key, future);
+			if (failure != null) {
+				future.completeExceptionally(failure);
+			} else {
+				future.complete(result);
+			}
+		});
+		return copy(future);
+	}
+	
+	/**
+	 * 在异步线程池中写入缓存（使用缓存实例的默认过期时间）
+	 * @param key
+	 * @param cacheData
+	 * @return
+	 */
+	public CompletableFuture<Void> putAsync(String key, Object cacheData) {
+		return this.putAsync(key, cacheData, DEFAULT_EXPIRE_TIME);
+	}
+	
+	/**
+	 * 在异步线程池中写入缓存
+	 * @param key
+	 * @param cacheData
+	 * @param expireTime : 过期时间，单位（毫秒），为0时表示不失效
+	 * @return
+	 */
+	public CompletableFuture<Void> putAsync(String key, Object cacheData, long expireTime) {
+		return CompletableFuture.runAsync(() -> this.put(key, cacheData, expireTime), executor);
+	}
+	
+	/**
+	 * 数据计算完成后写入缓存（使用缓存实例的默认过期时间），计算失败或结果为null时不写入
+	 * @param key
+	 * @param valueFuture
+	 * @return 写入完成后结束
+	 */
+	public CompletableFuture<Void> putAsync(String key, CompletableFuture<?> valueFuture) {
+		return valueFuture.thenAccept(value -> this.put(key, value, DEFAULT_EXPIRE_TIME));
+	}
+	
+	/**
+	 * 读取未失效的缓存，不计入命中统计
+	 */
+	private Object getIfPresent(String key) {
+		CacheInfo cacheInfo = cacheManager.getCacheInfo(key);
+		if (cacheInfo == null || cacheInfo.isExpired(System.currentTimeMillis())) {
+			return null;
+		}
+		return cacheInfo.getData();
+	}
+	
+	private void put(String key, Object value, long expireTime) {
+		if (value == null) {
+			return;
+		}
+		
+		if (expireTime == DEFAULT_EXPIRE_TIME) {
+			cacheManager.setCache(key, value);
+		} else {
+			cacheManager.setCache(key, value, expireTime);
+		}
+	}
+	
+	/**
+	 * 返回共享future的副本，避免调用方complete/cancel影响其它等待者
+	 */
+	private static CompletableFuture<Object> copy(CompletableFuture<Object> future) {
+		return future.thenApply(value -> value);
+	}
+	
+}
@@ -0,0 +1,596 @@
+package cn.javaex.htool.cache;
+
+import java.io.File;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import cn.javaex.htool.cache.enums.EvictionPolicy;
+import cn.javaex.htool.cache.invalidation.IInvalidationTransport;
+import cn.javaex.htool.cache.loader.CacheLoader;
+import cn.javaex.htool.cache.manager.ICacheManager;
+import cn.javaex.htool.cache.manager.impl.CacheManagerImpl;
+import cn.javaex.htool.cache.offheap.OffHeapStore;
+import cn.javaex.htool.cache.serializer.ISerializer;
+import cn.javaex.htool.cache.serializer.impl.JdkSerializer;
+import cn.javaex.htool.cache.task.CacheExecutors;
+import cn.javaex.htool.cache.weigher.Weigher;
+import cn.javaex.htool.cache.weigher.impl.SizeEstimateWeigher;
+import cn.javaex.htool.cache.writer.CacheWriter;
+
+/**
+ * 缓存构建器
+ * <p>
+ * 示例：CacheBuilder.newBuilder().maximumSize(10000).evictionPolicy(EvictionPolicy.W_TINY_LFU).build();
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class CacheBuilder {
+	
+	/**
+	 * 默认过期检查刻度：单位（毫秒）
+	 */
+	public static final long DEFAULT_TIMER_TICK = 1000L;
+	
+	/**
+	 * 最大条目数（小于等于0表示不限制）
+	 */
+	private long maximumSize = 0L;
+	/**
+	 * 最大总权重（小于等于0表示不限制）
+	 */
+	private long maximumWeight = 0L;
+	/**
+	 * 权重计算
+	 */
+	private Weigher weigher = SizeEstimateWeigher.INSTANCE;
+	/**
+	 * 淘汰策略
+	 */
+	private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+	/**
+	 * 默认过期时间：单位（毫秒）（0表示永不失效）
+	 */
+	private long expireTime = 0L;
+	/**
+	 * 空闲失效时间（0表示不按空闲时间失效）
+	 */
+	private long idleTime = 0L;
+	/**
+	 * 过期检查刻度：单位（毫秒）
+	 */
+	private long timerTick = DEFAULT_TIMER_TICK;
+	/**
+	 * 写入多久后异步刷新：单位（毫秒）（0表示不刷新）
+	 */
+	private long refreshTime = 0L;
+	/**
+	 * 刷新时使用的加载器
+	 */
+	private CacheLoader cacheLoader;
+	/**
+	 * 执行异步刷新的线程池
+	 */
+	private Executor refreshExecutor = CacheExecutors.getRefreshExecutor();
+	/**
+	 * 堆外层最大字节数（0表示不启用）
+	 */
+	private long offHeapCapacity = 0L;
+	/**
+	 * 堆外层映射文件（为null时使用直接内存）
+	 */
+	private File offHeapFile;
+	/**
+	 * 序列化方式
+	 */
+	private ISerializer serializer = new JdkSerializer();
+	/**
+	 * 快照目录（为null时不写快照）
+	 */
+	private File snapshotDirectory;
+	/**
+	 * 快照间隔：单位（毫秒）
+	 */
+	private long snapshotInterval;
+	/**
+	 * 是否记录统计（默认记录）
+	 */
+	private boolean recordStats = true;
+	/**
+	 * 是否注册JMX统计MBean（通过CacheManager创建的命名缓存有效）
+	 */
+	private boolean jmxEnabled = false;
+	/**
+	 * 是否维护有序key索引
+	 */
+	private boolean keyIndexEnabled = false;
+	/**
+	 * 失效通知频道
+	 */
+	private String invalidationChannel;
+	/**
+	 * 失效通知传输方式（为null时不发送失效通知）
+	 */
+	private IInvalidationTransport invalidationTransport;
+	/**
+	 * 异步缓存使用的线程池
+	 */
+	private Executor asyncExecutor = ForkJoinPool.commonPool();
+	/**
+	 * 未命中时从后端加载（为null时不加载）
+	 */
+	private CacheLoader readThroughLoader;
+	/**
+	 * 写入后端存储（为null时不写入）
+	 */
+	private CacheWriter cacheWriter;
+	/**
+	 * 是否延迟写入（false表示同步写入）
+	 */
+	private boolean writeBehind;
+	/**
+	 * 延迟写入间隔：单位（毫秒）
+	 */
+	private long writeBehindInterval;
+	/**
+	 * 延迟写入每批最多key数
+	 */
+	private int writeBehindBatchSize;
+	/**
+	 * 延迟写入最多待写入key数
+	 */
+	private int writeBehindMaxPending;
+	
+	private CacheBuilder() {
+		
+	}
+	
+	/**
+	 * 创建构建器
+	 * @return
+	 */
+	public static CacheBuilder newBuilder() {
+		return new CacheBuilder();
+	}
+	
+	/**
+	 * 设置最大条目数，超出后按淘汰策略淘汰
+	 * @param maximumSize : 最大条目数，小于等于0表示不限制
+	 * @return
+	 */
+	public CacheBuilder maximumSize(long maximumSize) {
+		this.maximumSize = maximumSize;
+		return this;
+	}
+	
+	/**
+	 * 设置最大总权重，超出后从最冷的一批key中优先淘汰权重最大的
+	 * <p>
+	 * 默认按估算字节数计算权重（见SizeEstimateWeigher），可与maximumSize同时使用
+	 * @param maximumWeight : 最大总权重，小于等于0表示不限制
+	 * @return
+	 */
+	public CacheBuilder maximumWeight(long maximumWeight) {
+		this.maximumWeight = maximumWeight;
+		return this;
+	}
+	
+	/**
+	 * 设置权重计算方式，配合maximumWeight使用
+	 * @param weigher
+	 * @return
+	 */
+	public CacheBuilder weigher(Weigher weigher) {
+		if (weigher == null) {
+			throw new IllegalArgumentException("weigher must not be null");
+		}
+		this.weigher = weigher;
+		return this;
+	}
+	
+	/**
+	 * 设置淘汰策略，默认LRU
+	 * @param evictionPolicy
+	 * @return
+	 */
+	public CacheBuilder evictionPolicy(EvictionPolicy evictionPolicy) {
+		if (evictionPolicy == null) {
+			throw new IllegalArgumentException("evictionPolicy must not be null");
+		}
+		this.evictionPolicy = evictionPolicy;
+		return this;
+	}
+	
+	/**
+	 * 设置默认过期时间，调用setCache(key, cacheData)时使用
+	 * @param expireTime : 单位（毫秒），为0时表示不失效
+	 * @return
+	 */
+	public CacheBuilder expireTime(long expireTime) {
+		if (expireTime < 0) {
+			throw new IllegalArgumentException("expireTime must not be negative");
+		}
+		this.expireTime = expireTime;
+		return this;
+	}
+	
+	/**
+	 * 设置空闲失效时间：超过idleTime没有被读取或写入的缓存失效，读取会延长缓存的有效期
+	 * <p>
+	 * 可与expireTime同时使用，先到期的生效。读取记录写入分段缓冲后批量处理，最后访问时间按处理时刻计算，
+	 * 最多晚一个刻度（timerTick）；高并发下缓冲写满时个别读取记录会被丢弃。
+	 * @param idleTime : 单位（毫秒），为0时表示不按空闲时间失效
+	 * @return
+	 */
+	public CacheBuilder expireAfterAccess(long idleTime) {
+		if (idleTime < 0) {
+			throw new IllegalArgumentException("idleTime must not be negative");
+		}
+		this.idleTime = idleTime;
+		return this;
+	}
+	
+	/**
+	 * 设置过期检查刻度，到期的缓存最迟在一个刻度后从内存中回收，默认1秒
+	 * @param timerTick : 单位（毫秒）
+	 * @return
+	 */
+	public CacheBuilder timerTick(long timerTick) {
+		if (timerTick <= 0) {
+			throw new IllegalArgumentException("timerTick must be positive");
+		}
+		this.timerTick = timerTick;
+		return this;
+	}
+	
+	/**
+	 * 设置写入后刷新时间
+	 * <p>
+	 * 读取到写入时间超过refreshTime的缓存时，立即返回当前数据，同时在线程池中异步重新加载，
+	 * 读取线程不会等待加载。refreshTime应小于过期时间，否则数据会先过期而来不及刷新。
+	 * @param refreshTime : 单位（毫秒）
+	 * @param cacheLoader : 加载器
+	 * @return
+	 */
+	public CacheBuilder refreshAfterWrite(long refreshTime, CacheLoader cacheLoader) {
+		if (refreshTime <= 0) {
+			throw new IllegalArgumentException("refreshTime must be positive");
+		}
+		if (cacheLoader == null) {
+			throw new IllegalArgumentException("cacheLoader must not be null");
+		}
+		this.refreshTime = refreshTime;
+		this.cacheLoader = cacheLoader;
+		return this;
+	}
+	
+	/**
+	 * 设置执行异步刷新的线程池，默认使用有界的公共线程池
+	 * @param refreshExecutor
+	 * @return
+	 */
+	public CacheBuilder refreshExecutor(Executor refreshExecutor) {
+		if (refreshExecutor == null) {
+			throw new IllegalArgumentException("refreshExecutor must not be null");
+		}
+		this.refreshExecutor = refreshExecutor;
+		return this;
+	}
+	
+	/**
+	 * 启用基于直接内存的堆外层
+	 * <p>
+	 * 堆内缓存作为一级缓存，容量超限被淘汰的数据序列化后转入堆外层，再次读取时取回堆内。
+	 * 必须同时设置maximumSize。
+	 * @param capacity : 堆外层最大字节数，至少1MB
+	 * @return
+	 */
+	public CacheBuilder offHeap(long capacity) {
+		return this.offHeap(capacity, null);
+	}
+	
+	/**
+	 * 启用基于内存映射文件的堆外层
+	 * @param capacity : 堆外层最大字节数，至少1MB
+	 * @param mappedFile : 映射文件，为null时使用直接内存
+	 * @return
+	 */
+	public CacheBuilder offHeap(long capacity, File mappedFile) {
+		if (capacity < OffHeapStore.PAGE_SIZE) {
+			throw new IllegalArgumentException("Off-heap capacity must be at least " + OffHeapStore.PAGE_SIZE + " bytes");
+		}
+		this.offHeapCapacity = capacity;
+		this.offHeapFile = mappedFile;
+		return this;
+	}
+	
+	/**
+	 * 设置序列化方式，默认JDK序列化
+	 * @param serializer
+	 * @return
+	 */
+	public CacheBuilder serializer(ISerializer serializer) {
+		if (serializer == null) {
+			throw new IllegalArgumentException("serializer must not be null");
+		}
+		this.serializer = serializer;
+		return this;
+	}
+	
+	/**
+	 * 启用本地快照，用于重启后快速恢复缓存
+	 * <p>
+	 * 每隔snapshotInterval把有变化的堆内缓存写入磁盘，JVM正常退出时再写一次；
+	 * 构建缓存时自动加载目录中的快照，过期时间按原写入时间计算。
+	 * 数据需支持所配置的序列化方式，不支持的数据不写入快照。
+	 * @param snapshotDirectory : 快照目录，每个缓存实例应使用独立的目录
+	 * @param snapshotInterval : 单位（毫秒）
+	 * @return
+	 */
+	public CacheBuilder snapshot(File snapshotDirectory, long snapshotInterval) {
+		if (snapshotDirectory == null) {
+			throw new IllegalArgumentException("snapshotDirectory must not be null");
+		}
+		if (snapshotInterval <= 0) {
+			throw new IllegalArgumentException("snapshotInterval must be positive");
+		}
+		this.snapshotDirectory = snapshotDirectory;
+		this.snapshotInterval = snapshotInterval;
+		return this;
+	}
+	
+	/**
+	 * 设置是否记录命中、加载、淘汰等统计，默认记录
+	 * <p>
+	 * 关闭后getStats()只返回条目数
+	 * @param recordStats
+	 * @return
+	 */
+	public CacheBuilder recordStats(boolean recordStats) {
+		this.recordStats = recordStats;
+		return this;
+	}
+	
+	/**
+	 * 通过CacheManager创建命名缓存时，把统计信息注册为JMX MBean，删除缓存时注销
+	 * @return
+	 */
+	public CacheBuilder enableJmx() {
+		this.jmxEnabled = true;
+		return this;
+	}
+	
+	/**
+	 * 维护有序key索引，使按前缀、按通配符查询和删除只访问匹配的key，而不是遍历全部key
+	 * <p>
+	 * 读取不受影响，写入新key和删除时多一次跳表操作
+	 * @return
+	 */
+	public CacheBuilder indexKeys() {
+		this.keyIndexEnabled = true;
+		return this;
+	}
+	
+	/**
+	 * 在多个节点（JVM）之间同步失效：本节点写入或删除key时通知其它节点删除本地的旧数据，只传key不传数据
+	 * <p>
+	 * 通知按很短的间隔合并批量发送；收到的通知只在本地删除，不会再次广播。
+	 * 同一个频道的缓存实例互相通知，各节点上同一份数据的缓存应使用相同的频道名。
+	 * 示例：invalidation("user", new MulticastInvalidationTransport())
+	 * @param channel : 频道
+	 * @param transport : 传输方式，见MulticastInvalidationTransport、InProcessInvalidationTransport
+	 * @return
+	 */
+	public CacheBuilder invalidation(String channel, IInvalidationTransport transport) {
+		if (channel == null || channel.isEmpty()) {
+			throw new IllegalArgumentException("channel must not be empty");
+		}
+		if (transport == null) {
+			throw new IllegalArgumentException("transport must not be null");
+		}
+		this.invalidationChannel = channel;
+		this.invalidationTransport = transport;
+		return this;
+	}
+	
+	/**
+	 * 未命中时通过cacheLoader从后端加载并写入缓存（同一个key并发未命中时只加载一次），getCache不再需要调用方自己回源
+	 * <p>
+	 * 加载的数据使用默认过期时间，只写入本地缓存，不会再调用CacheWriter写回后端
+	 * @param cacheLoader
+	 * @return
+	 */
+	public CacheBuilder readThrough(CacheLoader cacheLoader) {
+		if (cacheLoader == null) {
+			throw new IllegalArgumentException("cacheLoader must not be null");
+		}
+		this.readThroughLoader = cacheLoader;
+		return this;
+	}
+	
+	/**
+	 * 同步写入：setCache先写入后端再更新缓存，removeByKey先从后端删除再删除缓存；后端失败时抛出异常，缓存不变
+	 * <p>
+	 * removeAll、removeByPrefix、removeByPattern只清除缓存，不删除后端数据
+	 * @param cacheWriter
+	 * @return
+	 */
+	public CacheBuilder writeThrough(CacheWriter cacheWriter) {
+		if (cacheWriter == null) {
+			throw new IllegalArgumentException("cacheWriter must not be null");
+		}
+		this.cacheWriter = cacheWriter;
+		this.writeBehind = false;
+		return this;
+	}
+	
+	/**
+	 * 延迟写入：setCache、removeByKey立即更新缓存，同一个key的多次修改合并后按间隔或批量大小批量写入后端
+	 * <p>
+	 * 待写入的key达到maxPending时，写入新key的线程阻塞等待；JVM正常退出时写入剩余数据。
+	 * removeAll、removeByPrefix、removeByPattern只清除缓存，不删除后端数据
+	 * @param cacheWriter : 后端存储
+	 * @param flushInterval : 写入间隔，单位（毫秒）
+	 * @param batchSize : 每批最多写入的key数，积累到这么多时立即写入
+	 * @param maxPending : 最多待写入的key数
+	 * @return
+	 */
+	public CacheBuilder writeBehind(CacheWriter cacheWriter, long flushInterval, int batchSize, int maxPending) {
+		if (cacheWriter == null) {
+			throw new IllegalArgumentException("cacheWriter must not be null");
+		}
+		if (flushInterval <= 0) {
+			throw new IllegalArgumentException("flushInterval must be positive");
+		}
+		if (batchSize <= 0 || maxPending < batchSize) {
+			throw new IllegalArgumentException("batchSize must be positive and not greater than maxPending");
+		}
+		this.cacheWriter = cacheWriter;
+		this.writeBehind = true;
+		this.writeBehindInterval = flushInterval;
+		this.writeBehindBatchSize = batchSize;
+		this.writeBehindMaxPending = maxPending;
+		return this;
+	}
+	
+	/**
+	 * 设置异步缓存（buildAsync）执行加载和写入的线程池，默认ForkJoinPool.commonPool()
+	 * @param asyncExecutor
+	 * @return
+	 */
+	public CacheBuilder asyncExecutor(Executor asyncExecutor) {
+		if (asyncExecutor == null) {
+			throw new IllegalArgumentException("asyncExecutor must not be null");
+		}
+		this.asyncExecutor = asyncExecutor;
+		return this;
+	}
+	
+	/**
+	 * 构建异步缓存实例
+	 * @return
+	 */
+	public AsyncCacheManager buildAsync() {
+		return new AsyncCacheManager(this.build(), asyncExecutor);
+	}
+	
+	/**
+	 * 构建缓存实例
+	 * @return
+	 */
+	public ICacheManager build() {
+		if (offHeapCapacity > 0 && maximumSize <= 0 && maximumWeight <= 0) {
+			throw new IllegalStateException("Off-heap tier requires maximumSize or maximumWeight for the on-heap tier");
+		}
+		return new CacheManagerImpl(this);
+	}
+
+	public long getMaximumSize() {
+		return maximumSize;
+	}
+
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	public Weigher getWeigher() {
+		return weigher;
+	}
+
+	public EvictionPolicy getEvictionPolicy() {
+		return evictionPolicy;
+	}
+
+	public long getExpireTime() {
+		return expireTime;
+	}
+
+	public long getIdleTime() {
+		return idleTime;
+	}
+
+	public long getTimerTick() {
+		return timerTick;
+	}
+
+	public long getRefreshTime() {
+		return refreshTime;
+	}
+
+	public CacheLoader getCacheLoader() {
+		return cacheLoader;
+	}
+
+	public Executor getRefreshExecutor() {
+		return refreshExecutor;
+	}
+
+	public long getOffHeapCapacity() {
+		return offHeapCapacity;
+	}
+
+	public File getOffHeapFile() {
+		return offHeapFile;
+	}
+
+	public ISerializer getSerializer() {
+		return serializer;
+	}
+
+	public File getSnapshotDirectory() {
+		return snapshotDirectory;
+	}
+
+	public long getSnapshotInterval() {
+		return snapshotInterval;
+	}
+
+	public boolean isRecordStats() {
+		return recordStats;
+	}
+
+	public boolean isJmxEnabled() {
+		return jmxEnabled;
+	}
+
+	public boolean isKeyIndexEnabled() {
+		return keyIndexEnabled;
+	}
+
+	public String getInvalidationChannel() {
+		return invalidationChannel;
+	}
+
+	public IInvalidationTransport getInvalidationTransport() {
+		return invalidationTransport;
+	}
+
+	public Executor getAsyncExecutor() {
+		return asyncExecutor;
+	}
+
+	public CacheLoader getReadThroughLoader() {
+		return readThroughLoader;
+	}
+
+	public CacheWriter getCacheWriter() {
+		return cacheWriter;
+	}
+
+	public boolean isWriteBehind() {
+		return writeBehind;
+	}
+
+	public long getWriteBehindInterval() {
+		return writeBehindInterval;
+	}
+
+	public int getWriteBehindBatchSize() {
+		return writeBehindBatchSize;
+	}
+
+	public int getWriteBehindMaxPending() {
+		return writeBehindMaxPending;
+	}
+	
+}
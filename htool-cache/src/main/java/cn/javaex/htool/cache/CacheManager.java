@@ -0,0 +1,146 @@
+package cn.javaex.htool.cache;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import cn.javaex.htool.cache.jmx.CacheMBeanRegistrar;
+import cn.javaex.htool.cache.manager.ICacheManager;
+
+/**
+ * 缓存区域注册表
+ * <p>
+ * 按名称创建和获取彼此隔离的缓存实例，每个实例有独立的容量、过期时间、淘汰策略和统计信息。
+ * 示例：CacheManager.createCache("tenant-a", CacheBuilder.newBuilder().maximumSize(10000).expireTime(60000));
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class CacheManager {
+	
+	/**
+	 * 默认缓存区域名称，CacheUtils读写的就是这个区域
+	 */
+	public static final String DEFAULT_CACHE_NAME = "default";
+	
+	private static final ConcurrentMap<String, ICacheManager> CACHE_MAP = new ConcurrentHashMap<String, ICacheManager>();
+	
+	private static final ICacheManager DEFAULT_CACHE = CacheBuilder.newBuilder().build();
+	
+	static {
+		CACHE_MAP.put(DEFAULT_CACHE_NAME, DEFAULT_CACHE);
+	}
+	
+	/**
+	 * 获取默认缓存区域
+	 * @return
+	 */
+	public static ICacheManager getDefault() {
+		return DEFAULT_CACHE;
+	}
+	
+	/**
+	 * 获取指定名称的缓存区域
+	 * @param name : 区域名称
+	 * @return 不存在时返回null
+	 */
+	public static ICacheManager getCache(String name) {
+		return CACHE_MAP.get(name);
+	}
+	
+	/**
+	 * 创建缓存区域
+	 * @param name : 区域名称
+	 * @param builder : 区域配置
+	 * @return
+	 */
+	public static ICacheManager createCache(String name, CacheBuilder builder) {
+		checkName(name);
+		// 先检查名称，已存在时不创建缓存实例（不加载快照、不启动后台任务）
+		if (CACHE_MAP.containsKey(name)) {
+			throw new IllegalStateException("Cache already exists: '" + name + "'");
+		}
+		
+		ICacheManager cache = builder.build();
+		if (CACHE_MAP.putIfAbsent(name, cache) != null) {
+			// 并发创建同名区域时，关闭本次创建的实例
+			cache.close();
+			throw new IllegalStateException("Cache already exists: '" + name + "'");
+		}
+		if (builder.isJmxEnabled()) {
+			CacheMBeanRegistrar.register(name, cache);
+		}
+		return cache;
+	}
+	
+	/**
+	 * 获取缓存区域，不存在时按配置创建
+	 * @param name : 区域名称
+	 * @param builder : 区域不存在时使用的配置
+	 * @return
+	 */
+	public static ICacheManager getOrCreateCache(String name, CacheBuilder builder) {
+		checkName(name);
+		return CACHE_MAP.computeIfAbsent(name, key -> {
+			ICacheManager cache = builder.build();
+			if (builder.isJmxEnabled()) {
+				CacheMBeanRegistrar.register(name, cache);
+			}
+			return cache;
+		});
+	}
+	
+	/**
+	 * 删除缓存区域，清空其中的数据并关闭（默认区域只清空，不删除）
+	 * @param name : 区域名称
+	 */
+	public static void removeCache(String name) {
+		if (DEFAULT_CACHE_NAME.equals(name)) {
+			DEFAULT_CACHE.removeAll();
+			return;
+		}
+		
+		ICacheManager cache = CACHE_MAP.remove(name);
+		if (cache != null) {
+			CacheMBeanRegistrar.unregister(name);
+			cache.removeAll();
+			cache.close();
+		}
+	}
+	
+	/**
+	 * 把已存在的缓存区域（包括默认区域）的统计信息注册为JMX MBean
+	 * @param name : 区域名称
+	 */
+	public static void registerMBean(String name) {
+		ICacheManager cache = CACHE_MAP.get(name);
+		if (cache == null) {
+			throw new IllegalArgumentException("Cache does not exist: '" + name + "'");
+		}
+		CacheMBeanRegistrar.register(name, cache);
+	}
+	
+	/**
+	 * 注销缓存区域的JMX MBean
+	 * @param name : 区域名称
+	 */
+	public static void unregisterMBean(String name) {
+		CacheMBeanRegistrar.unregister(name);
+	}
+	
+	/**
+	 * 获取所有缓存区域名称
+	 * @return
+	 */
+	public static Set<String> getCacheNames() {
+		return Collections.unmodifiableSet(CACHE_MAP.keySet());
+	}
+	
+	private static void checkName(String name) {
+		if (name == null || name.isEmpty()) {
+			throw new IllegalArgumentException("Cache name must not be empty");
+		}
+	}
+	
+}
@@ -2,18 +2,33 @@ package cn.javaex.htool.cache;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
-import cn.javaex.htool.cache.manager.impl.CacheManagerImpl;
+import cn.javaex.htool.cache.manager.ICacheManager;
 import cn.javaex.htool.cache.model.CacheInfo;
+import cn.javaex.htool.cache.model.CacheStats;
 
 /**
- * 缓存工具类
+ * 缓存工具类（读写默认缓存区域，见 {@link CacheManager#getDefault()}）
  * 
  * @author 陈霓清
  * @Date 2022年11月25日
  */
 public class CacheUtils {
+	
+	private static final ICacheManager CACHE = CacheManager.getDefault();
+	
+	private static final LoadingCache LOADING_CACHE = new LoadingCache(CACHE);
 
+	/**
+	 * 写入缓存（永不失效）
+	 * @param key : 缓存key
+	 * @param cacheData ： 缓存内容
+	 */
+	public static void setCache(String key, Object cacheData) {
+		CACHE.setCache(key, cacheData);
+	}
+	
 	/**
 	 * 写入缓存
 	 * @param key : 缓存key
@@ -21,7 +36,7 @@ public class CacheUtils {
 	 * @param expireTime : 过期时间，单位（毫秒），为0时表示不失效
 	 */
 	public static void setCache(String key, Object cacheData, long expireTime) {
-		new CacheManagerImpl().setCache(key, cacheData, expireTime);
+		CACHE.setCache(key, cacheData, expireTime);
 	}
 	
 	/**
@@ -30,14 +45,25 @@ public class CacheUtils {
 	 * @return
 	 */
 	public static Object getCache(String key) {
-		return new CacheManagerImpl().getCache(key);
+		return CACHE.getCache(key);
+	}
+	
+	/**
+	 * 读取缓存，未命中时加载并写入缓存（同一个key并发未命中时只加载一次）
+	 * @param key : 缓存key
+	 * @param loader : 加载函数
+	 * @param expireTime : 过期时间，单位（毫秒），为0时表示不失效
+	 * @return
+	 */
+	public static Object getCache(String key, Function<String, Object> loader, long expireTime) {
+		return LOADING_CACHE.get(key, loader, expireTime);
 	}
 	
 	/**
 	 * 清除所有缓存
 	 */
 	public static void removeAll() {
-		new CacheManagerImpl().removeAll();
+		CACHE.removeAll();
 	}
 	
 	/**
@@ -45,7 +71,41 @@ public class CacheUtils {
 	 * @param key : 缓存key
 	 */
 	public static void removeByKey(String key) {
-		new CacheManagerImpl().removeByKey(key);
+		CACHE.removeByKey(key);
+	}
+	
+	/**
+	 * 清除key以prefix开头的缓存
+	 * @param prefix : key前缀
+	 */
+	public static void removeByPrefix(String prefix) {
+		CACHE.removeByPrefix(prefix);
+	}
+	
+	/**
+	 * 清除key匹配通配符的缓存
+	 * @param pattern : 通配符，* 匹配任意多个字符，? 匹配单个字符
+	 */
+	public static void removeByPattern(String pattern) {
+		CACHE.removeByPattern(pattern);
+	}
+	
+	/**
+	 * 获取以prefix开头的缓存key
+	 * @param prefix : key前缀
+	 * @return
+	 */
+	public static Set<String> keysByPrefix(String prefix) {
+		return CACHE.keysByPrefix(prefix);
+	}
+	
+	/**
+	 * 获取匹配通配符的缓存key
+	 * @param pattern : 通配符，* 匹配任意多个字符，? 匹配单个字符
+	 * @return
+	 */
+	public static Set<String> keysByPattern(String pattern) {
+		return CACHE.keysByPattern(pattern);
 	}
 	
 	/**
@@ -53,14 +113,14 @@ public class CacheUtils {
 	 * @return
 	 */
 	public static Set<String> getAllKeys() {
-		return new CacheManagerImpl().getAllKeys();
+		return CACHE.getAllKeys();
 	}
 	
 	/**
 	 * 获取所有缓存信息
 	 */
 	public static Map<String, CacheInfo> getAllCacheInfos() {
-		return new CacheManagerImpl().getAllCacheInfos();
+		return CACHE.getAllCacheInfos();
 	}
 
 	/**
@@ -69,7 +129,15 @@ public class CacheUtils {
 	 * @return
 	 */
 	public static CacheInfo getCacheInfo(String key) {
-		return new CacheManagerImpl().getCacheInfo(key);
+		return CACHE.getCacheInfo(key);
+	}
+	
+	/**
+	 * 获取缓存统计信息
+	 * @return
+	 */
+	public static CacheStats getStats() {
+		return CACHE.getStats();
 	}
 	
 }
@@ -0,0 +1,261 @@
+package cn.javaex.htool.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import cn.javaex.htool.cache.manager.ICacheManager;
+import cn.javaex.htool.cache.manager.impl.CacheManagerImpl;
+import cn.javaex.htool.cache.model.CacheInfo;
+import cn.javaex.htool.cache.stats.IStatsCounter;
+import cn.javaex.htool.cache.stats.impl.DisabledStatsCounter;
+
+/**
+ * 自动加载缓存
+ * <p>
+ * 缓存未命中时调用加载函数并写入缓存。同一个key同一时刻只会有一个线程执行加载，
+ * 其它未命中的线程等待并共享这次加载的结果（加载失败时共享同一个异常）。
+ * 加载结果为null时不写入缓存。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class LoadingCache {
+	
+	/**
+	 * 使用缓存实例的默认过期时间
+	 */
+	private static final long DEFAULT_EXPIRE_TIME = -1L;
+	
+	private final ICacheManager cacheManager;
+	
+	/**
+	 * 加载次数和耗时记入缓存实例的统计
+	 */
+	private final IStatsCounter statsCounter;
+	
+	/**
+	 * 正在加载的key
+	 */
+	private final ConcurrentMap<String, CompletableFuture<Object>> loadingMap = new ConcurrentHashMap<String, CompletableFuture<Object>>();
+	
+	public LoadingCache(ICacheManager cacheManager) {
+		if (cacheManager == null) {
+			throw new IllegalArgumentException("cacheManager must not be null");
+		}
+		this.cacheManager = cacheManager;
+		this.statsCounter = cacheManager instanceof CacheManagerImpl
+				? ((CacheManagerImpl) cacheManager).getStatsCounter()
+				: DisabledStatsCounter.INSTANCE;
+	}
+	
+	public ICacheManager getCacheManager() {
+		return cacheManager;
+	}
+	
+	/**
+	 * 读取缓存，未命中时加载（使用缓存实例的默认过期时间）
+	 * @param key : 缓存key
+	 * @param loader : 加载函数
+	 * @return
+	 */
+	public Object get(String key, Function<String, Object> loader) {
+		return this.get(key, loader, DEFAULT_EXPIRE_TIME);
+	}
+	
+	/**
+	 * 读取缓存，未命中时加载
+	 * @param key : 缓存key
+	 * @param loader : 加载函数
+	 * @param expireTime : 过期时间，单位（毫秒），为0时表示不失效
+	 * @return
+	 */
+	public Object get(String key, Function<String, Object> loader, long expireTime) {
+		Object value = cacheManager.getCache(key);
+		if (value != null) {
+			return value;
+		}
+		
+		CompletableFuture<Object> future = new CompletableFuture<Object>();
+		CompletableFuture<Object> loading = loadingMap.putIfAbsent(key, future);
+		if (loading != null) {
+			return join(loading);
+		}
+		
+		try {
+			// 抢到加载权之前，可能已有线程加载完成
+			value = this.getIfPresent(key);
+			if (value == null) {
+				value = this.load(key, loader);
+				this.put(key, value, expireTime);
+			}
+			future.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			loadingMap.remove(key, future);
+		}
+	}
+	
+	/**
+	 * 批量读取缓存，未命中的key合并为一次批量加载（使用缓存实例的默认过期时间）
+	 * @param keys : 缓存key
+	 * @param bulkLoader : 批量加载函数，入参为需要加载的key，返回key与数据的映射
+	 * @return 按keys顺序排列的结果，不含加载不到数据的key
+	 */
+	public Map<String, Object> getAll(Collection<String> keys, Function<Set<String>, Map<String, Object>> bulkLoader) {
+		return this.getAll(keys, bulkLoader, DEFAULT_EXPIRE_TIME);
+	}
+	
+	/**
+	 * 批量读取缓存，未命中的key合并为一次批量加载
+	 * <p>
+	 * 已被其它线程加载中的key不会重复加载，而是等待其结果。
+	 * @param keys : 缓存key
+	 * @param bulkLoader : 批量加载函数，入参为需要加载的key，返回key与数据的映射
+	 * @param expireTime : 过期时间，单位（毫秒），为0时表示不失效
+	 * @return 按keys顺序排列的结果，不含加载不到数据的key
+	 */
+	public Map<String, Object> getAll(Collection<String> keys, Function<Set<String>, Map<String, Object>> bulkLoader, long expireTime) {
+		Map<String, Object> found = new HashMap<String, Object>();
+		Map<String, CompletableFuture<Object>> claimedMap = new LinkedHashMap<String, CompletableFuture<Object>>();
+		Map<String, CompletableFuture<Object>> waitingMap = new HashMap<String, CompletableFuture<Object>>();
+		
+		for (String key : keys) {
+			if (found.containsKey(key) || claimedMap.containsKey(key) || waitingMap.containsKey(key)) {
+				continue;
+			}
+			
+			Object value = cacheManager.getCache(key);
+			if (value != null) {
+				found.put(key, value);
+				continue;
+			}
+			
+			CompletableFuture<Object> future = new CompletableFuture<Object>();
+			CompletableFuture<Object> loading = loadingMap.putIfAbsent(key, future);
+			if (loading == null) {
+				claimedMap.put(key, future);
+			} else {
+				waitingMap.put(key, loading);
+			}
+		}
+		
+		// 先完成自己负责的加载，再等待其它线程，避免互相等待
+		if (!claimedMap.isEmpty()) {
+			this.loadAll(claimedMap, bulkLoader, expireTime, found);
+		}
+		for (Map.Entry<String, CompletableFuture<Object>> entry : waitingMap.entrySet()) {
+			Object value = join(entry.getValue());
+			if (value != null) {
+				found.put(entry.getKey(), value);
+			}
+		}
+		
+		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		for (String key : keys) {
+			Object value = found.get(key);
+			if (value != null) {
+				result.put(key, value);
+			}
+		}
+		return result;
+	}
+	
+	private void loadAll(Map<String, CompletableFuture<Object>> claimedMap, Function<Set<String>, Map<String, Object>> bulkLoader,
+			long expireTime, Map<String, Object> found) {
+		try {
+			Map<String, Object> loaded = this.load(Collections.unmodifiableSet(claimedMap.keySet()), bulkLoader);
+			for (Map.Entry<String, CompletableFuture<Object>> entry : claimedMap.entrySet()) {
+				String key = entry.getKey();
+				Object value = loaded == null ? null : loaded.get(key);
+				this.put(key, value, expireTime);
+				if (value != null) {
+					found.put(key, value);
+				}
+				entry.getValue().complete(value);
+			}
+		} catch (RuntimeException | Error e) {
+			for (CompletableFuture<Object> future : claimedMap.values()) {
+				future.completeExceptionally(e);
+			}
+			throw e;
+		} finally {
+			for (Map.Entry<String, CompletableFuture<Object>> entry : claimedMap.entrySet()) {
+				loadingMap.remove(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+	
+	/**
+	 * 调用加载函数，记录加载次数和耗时（返回null计为加载失败）
+	 */
+	private <K, V> V load(K key, Function<K, V> loader) {
+		long startTime = System.nanoTime();
+		boolean success = false;
+		try {
+			V value = loader.apply(key);
+			success = value != null;
+			return value;
+		} finally {
+			long loadTime = System.nanoTime() - startTime;
+			if (success) {
+				statsCounter.recordLoadSuccess(loadTime);
+			} else {
+				statsCounter.recordLoadFailure(loadTime);
+			}
+		}
+	}
+	
+	/**
+	 * 读取未失效的缓存，不计入命中统计
+	 */
+	private Object getIfPresent(String key) {
+		CacheInfo cacheInfo = cacheManager.getCacheInfo(key);
+		if (cacheInfo == null || cacheInfo.isExpired(System.currentTimeMillis())) {
+			return null;
+		}
+		return cacheInfo.getData();
+	}
+	
+	private void put(String key, Object value, long expireTime) {
+		if (value == null) {
+			return;
+		}
+		
+		if (expireTime == DEFAULT_EXPIRE_TIME) {
+			cacheManager.setCache(key, value);
+		} else {
+			cacheManager.setCache(key, value, expireTime);
+		}
+	}
+	
+	/**
+	 * 等待其它线程的加载结果，加载异常原样抛出
+	 */
+	private static Object join(CompletableFuture<Object> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+	
+}
@@ -0,0 +1,118 @@
+package cn.javaex.htool.cache.buffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 分段有损读缓冲
+ * <p>
+ * 读取线程按线程ID散列到不同的环形缓冲写入访问记录，互不竞争；
+ * 缓冲已满或写入冲突时直接丢弃这条记录（访问记录只用于淘汰顺序和空闲时间，允许少量丢失）。
+ * 记录由持锁的线程批量取出处理，同一时刻只能有一个线程调用drainTo。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class StripedReadBuffer<E> {
+	
+	/**
+	 * 每个环形缓冲的容量（2的幂）
+	 */
+	public static final int BUFFER_SIZE = 16;
+	private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+	
+	/**
+	 * 最大分段数
+	 */
+	private static final int MAX_STRIPES = 64;
+	
+	private final RingBuffer<E>[] stripes;
+	private final int stripeMask;
+	
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public StripedReadBuffer() {
+		int stripeCount = ceilingPowerOfTwo(Math.min(4 * Runtime.getRuntime().availableProcessors(), MAX_STRIPES));
+		this.stripes = new RingBuffer[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new RingBuffer<E>();
+		}
+		this.stripeMask = stripeCount - 1;
+	}
+	
+	/**
+	 * 写入一条记录
+	 * @param e
+	 * @return 当前线程所在的缓冲是否已满（已满时调用方应尽快取出处理）
+	 */
+	public boolean offer(E e) {
+		RingBuffer<E> ring = stripes[spread(Thread.currentThread().getId()) & stripeMask];
+		return ring.offer(e);
+	}
+	
+	/**
+	 * 取出所有已写入的记录（调用方需保证同一时刻只有一个线程执行）
+	 * @param consumer
+	 */
+	public void drainTo(Consumer<E> consumer) {
+		for (RingBuffer<E> ring : stripes) {
+			ring.drainTo(consumer);
+		}
+	}
+	
+	private static int spread(long id) {
+		int h = (int) (id ^ (id >>> 32));
+		h ^= h >>> 16;
+		h *= 0x45d9f3b;
+		h ^= h >>> 16;
+		return h;
+	}
+	
+	private static int ceilingPowerOfTwo(int x) {
+		return 1 << -Integer.numberOfLeadingZeros(Math.max(x, 1) - 1);
+	}
+	
+	/**
+	 * 多写单读的环形缓冲
+	 */
+	private static final class RingBuffer<E> {
+		private final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<E>(BUFFER_SIZE);
+		private final AtomicLong writeCounter = new AtomicLong();
+		private final AtomicLong readCounter = new AtomicLong();
+		
+		/**
+		 * @return 缓冲是否已满
+		 */
+		boolean offer(E e) {
+			long head = readCounter.get();
+			long tail = writeCounter.get();
+			if (tail - head >= BUFFER_SIZE) {
+				return true;
+			}
+			
+			// 写入冲突时放弃，不重试
+			if (writeCounter.compareAndSet(tail, tail + 1)) {
+				buffer.lazySet((int) (tail & BUFFER_MASK), e);
+			}
+			return tail + 1 - head >= BUFFER_SIZE;
+		}
+		
+		void drainTo(Consumer<E> consumer) {
+			long head = readCounter.get();
+			long tail = writeCounter.get();
+			while (head < tail) {
+				int index = (int) (head & BUFFER_MASK);
+				E e = buffer.get(index);
+				if (e == null) {
+					// 槽位已占用但还未写入，下次再取
+					break;
+				}
+				buffer.lazySet(index, null);
+				consumer.accept(e);
+				head++;
+			}
+			readCounter.lazySet(head);
+		}
+	}
+	
+}
@@ -0,0 +1,44 @@
+package cn.javaex.htool.cache.enums;
+
+import cn.javaex.htool.cache.eviction.IEvictionPolicy;
+import cn.javaex.htool.cache.eviction.impl.LfuEvictionPolicy;
+import cn.javaex.htool.cache.eviction.impl.LruEvictionPolicy;
+import cn.javaex.htool.cache.eviction.impl.WTinyLfuEvictionPolicy;
+
+/**
+ * 缓存淘汰策略
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public enum EvictionPolicy {
+	/** 最近最少使用 */
+	LRU {
+		@Override
+		public IEvictionPolicy create(long maximumSize) {
+			return new LruEvictionPolicy();
+		}
+	},
+	/** 最不经常使用 */
+	LFU {
+		@Override
+		public IEvictionPolicy create(long maximumSize) {
+			return new LfuEvictionPolicy();
+		}
+	},
+	/** 窗口 + 频率准入过滤，兼顾突发流量和长期热点 */
+	W_TINY_LFU {
+		@Override
+		public IEvictionPolicy create(long maximumSize) {
+			return new WTinyLfuEvictionPolicy(maximumSize);
+		}
+	};
+	
+	/**
+	 * 创建策略实例
+	 * @param maximumSize : 缓存最大条目数
+	 * @return
+	 */
+	public abstract IEvictionPolicy create(long maximumSize);
+	
+}
@@ -0,0 +1,19 @@
+package cn.javaex.htool.cache.enums;
+
+/**
+ * 失效通知类型
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public enum InvalidationType {
+	/** 按key失效 */
+	KEYS,
+	/** 按key前缀失效 */
+	PREFIX,
+	/** 按通配符失效 */
+	PATTERN,
+	/** 全部失效 */
+	ALL;
+	
+}
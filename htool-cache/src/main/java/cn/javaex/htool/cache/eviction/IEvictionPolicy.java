@@ -0,0 +1,52 @@
+package cn.javaex.htool.cache.eviction;
+
+import java.util.List;
+
+/**
+ * 缓存淘汰策略接口
+ * <p>
+ * 只负责记录key的访问顺序/频率并给出淘汰对象，不持有缓存数据。
+ * 实现类不要求线程安全，由调用方加锁。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public interface IEvictionPolicy {
+
+	/**
+	 * 记录一次读取命中
+	 * @param key
+	 */
+	void onAccess(String key);
+	
+	/**
+	 * 记录一次写入（新增或覆盖）
+	 * @param key
+	 */
+	void onWrite(String key);
+	
+	/**
+	 * 记录一次删除
+	 * @param key
+	 */
+	void onRemove(String key);
+	
+	/**
+	 * 选出并移除一个淘汰对象
+	 * @return 被淘汰的key，没有可淘汰的key时返回null
+	 */
+	String evict();
+	
+	/**
+	 * 按从冷到热的顺序列出最多limit个key，不移除（用于按权重淘汰时从最冷的一批中挑选）
+	 * @param limit
+	 * @return
+	 */
+	List<String> coldest(int limit);
+	
+	/**
+	 * 清空所有记录
+	 */
+	void clear();
+	
+}
@@ -0,0 +1,102 @@
+package cn.javaex.htool.cache.eviction.impl;
+
+/**
+ * 访问频率估算（4位Count-Min Sketch）
+ * <p>
+ * 每个long存放16个4位计数器，一个key对应4个计数器，取最小值作为估算频率（上限15）。
+ * 累计记录次数达到样本数时，所有计数器减半，让旧的热点逐渐冷却。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+class FrequencySketch {
+	private static final long[] SEED = {
+			0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+	private static final long RESET_MASK = 0x7777777777777777L;
+	private static final long ONE_MASK = 0x1111111111111111L;
+	
+	private final long[] table;
+	private final int tableMask;
+	private final int sampleSize;
+	private int size;
+	
+	FrequencySketch(long maximumSize) {
+		int capacity = (int) Math.min(Math.max(maximumSize, 1L), 1 << 30);
+		this.table = new long[ceilingPowerOfTwo(capacity)];
+		this.tableMask = table.length - 1;
+		this.sampleSize = (int) Math.min(10L * capacity, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * 估算key的访问频率
+	 * @param key
+	 * @return 0 ~ 15
+	 */
+	int frequency(Object key) {
+		int hash = spread(key.hashCode());
+		int start = (hash & 3) << 2;
+		int frequency = Integer.MAX_VALUE;
+		for (int i = 0; i < 4; i++) {
+			int index = indexOf(hash, i);
+			int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+			frequency = Math.min(frequency, count);
+		}
+		return frequency;
+	}
+	
+	/**
+	 * key的访问频率加1
+	 * @param key
+	 */
+	void increment(Object key) {
+		int hash = spread(key.hashCode());
+		int start = (hash & 3) << 2;
+		boolean added = false;
+		for (int i = 0; i < 4; i++) {
+			added |= incrementAt(indexOf(hash, i), start + i);
+		}
+		
+		if (added && ++size == sampleSize) {
+			this.reset();
+		}
+	}
+	
+	private boolean incrementAt(int index, int counter) {
+		int offset = counter << 2;
+		long mask = 0xfL << offset;
+		if ((table[index] & mask) != mask) {
+			table[index] += 1L << offset;
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * 所有计数器减半
+	 */
+	private void reset() {
+		int odd = 0;
+		for (int i = 0; i < table.length; i++) {
+			odd += Long.bitCount(table[i] & ONE_MASK);
+			table[i] = (table[i] >>> 1) & RESET_MASK;
+		}
+		size = (size - (odd >>> 2)) >>> 1;
+	}
+	
+	private int indexOf(int item, int i) {
+		long hash = (item + SEED[i]) * SEED[i];
+		hash += hash >>> 32;
+		return ((int) hash) & tableMask;
+	}
+	
+	private static int spread(int x) {
+		x = ((x >>> 16) ^ x) * 0x45d9f3b;
+		x = ((x >>> 16) ^ x) * 0x45d9f3b;
+		return (x >>> 16) ^ x;
+	}
+	
+	private static int ceilingPowerOfTwo(int x) {
+		return 1 << -Integer.numberOfLeadingZeros(x - 1);
+	}
+	
+}
@@ -0,0 +1,112 @@
+package cn.javaex.htool.cache.eviction.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import cn.javaex.htool.cache.eviction.IEvictionPolicy;
+
+/**
+ * LFU：淘汰访问次数最少的key，次数相同时淘汰最早进入该次数的key
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class LfuEvictionPolicy implements IEvictionPolicy {
+	
+	/**
+	 * key -> 访问次数
+	 */
+	private final Map<String, Integer> counts = new HashMap<String, Integer>();
+	/**
+	 * 访问次数 -> 该次数下的key（按进入顺序）
+	 */
+	private final TreeMap<Integer, LinkedHashSet<String>> buckets = new TreeMap<Integer, LinkedHashSet<String>>();
+
+	@Override
+	public void onAccess(String key) {
+		Integer count = counts.get(key);
+		if (count == null) {
+			return;
+		}
+		
+		this.unlink(key, count);
+		this.link(key, count + 1);
+	}
+
+	@Override
+	public void onWrite(String key) {
+		if (counts.containsKey(key)) {
+			this.onAccess(key);
+			return;
+		}
+		
+		this.link(key, 1);
+	}
+
+	@Override
+	public void onRemove(String key) {
+		Integer count = counts.remove(key);
+		if (count != null) {
+			this.unlink(key, count);
+		}
+	}
+
+	@Override
+	public String evict() {
+		Map.Entry<Integer, LinkedHashSet<String>> lowest = buckets.firstEntry();
+		if (lowest == null) {
+			return null;
+		}
+		
+		String victim = lowest.getValue().iterator().next();
+		this.onRemove(victim);
+		return victim;
+	}
+
+	@Override
+	public List<String> coldest(int limit) {
+		List<String> keys = new ArrayList<String>(limit);
+		for (LinkedHashSet<String> bucket : buckets.values()) {
+			for (String key : bucket) {
+				if (keys.size() >= limit) {
+					return keys;
+				}
+				keys.add(key);
+			}
+		}
+		return keys;
+	}
+
+	@Override
+	public void clear() {
+		counts.clear();
+		buckets.clear();
+	}
+	
+	private void link(String key, int count) {
+		counts.put(key, count);
+		LinkedHashSet<String> bucket = buckets.get(count);
+		if (bucket == null) {
+			bucket = new LinkedHashSet<String>();
+			buckets.put(count, bucket);
+		}
+		bucket.add(key);
+	}
+	
+	private void unlink(String key, int count) {
+		LinkedHashSet<String> bucket = buckets.get(count);
+		if (bucket == null) {
+			return;
+		}
+		
+		bucket.remove(key);
+		if (bucket.isEmpty()) {
+			buckets.remove(count);
+		}
+	}
+	
+}
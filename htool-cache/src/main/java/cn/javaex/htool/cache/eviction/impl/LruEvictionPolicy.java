@@ -0,0 +1,67 @@
+package cn.javaex.htool.cache.eviction.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import cn.javaex.htool.cache.eviction.IEvictionPolicy;
+
+/**
+ * LRU：淘汰最久未被访问的key
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class LruEvictionPolicy implements IEvictionPolicy {
+	
+	/**
+	 * 按访问顺序排列，头部为最久未访问的key
+	 */
+	private final LinkedHashMap<String, Boolean> accessOrder = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
+
+	@Override
+	public void onAccess(String key) {
+		accessOrder.get(key);
+	}
+
+	@Override
+	public void onWrite(String key) {
+		accessOrder.put(key, Boolean.TRUE);
+	}
+
+	@Override
+	public void onRemove(String key) {
+		accessOrder.remove(key);
+	}
+
+	@Override
+	public String evict() {
+		Iterator<String> iterator = accessOrder.keySet().iterator();
+		if (!iterator.hasNext()) {
+			return null;
+		}
+		
+		String victim = iterator.next();
+		iterator.remove();
+		return victim;
+	}
+
+	@Override
+	public List<String> coldest(int limit) {
+		List<String> keys = new ArrayList<String>(limit);
+		for (String key : accessOrder.keySet()) {
+			if (keys.size() >= limit) {
+				break;
+			}
+			keys.add(key);
+		}
+		return keys;
+	}
+
+	@Override
+	public void clear() {
+		accessOrder.clear();
+	}
+	
+}
@@ -0,0 +1,182 @@
+package cn.javaex.htool.cache.eviction.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import cn.javaex.htool.cache.eviction.IEvictionPolicy;
+
+/**
+ * W-TinyLFU：窗口LRU + 分段LRU主区，由频率过滤器决定新key能否进入主区
+ * <p>
+ * 新写入的key先进入容量约1%的窗口区，被挤出窗口后进入主区的试用段成为候选者。
+ * 需要淘汰时，候选者与试用段最久未访问的key比较估算频率，频率更高的留下。
+ * 试用段中再次被访问的key晋升到保护段（占主区的80%）。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class WTinyLfuEvictionPolicy implements IEvictionPolicy {
+	
+	private final long maximumSize;
+	private final long windowMaximum;
+	private final long protectedMaximum;
+	private final FrequencySketch sketch;
+	
+	private final LinkedHashMap<String, Boolean> window = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
+	private final LinkedHashMap<String, Boolean> probation = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
+	private final LinkedHashMap<String, Boolean> protectedSegment = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
+	/**
+	 * 从窗口区挤出、尚未经过准入比较的key
+	 */
+	private final ArrayDeque<String> candidates = new ArrayDeque<String>();
+	
+	public WTinyLfuEvictionPolicy(long maximumSize) {
+		this.maximumSize = maximumSize;
+		this.windowMaximum = Math.max(1L, maximumSize / 100);
+		this.protectedMaximum = (maximumSize - windowMaximum) * 80 / 100;
+		this.sketch = new FrequencySketch(maximumSize);
+	}
+
+	@Override
+	public void onAccess(String key) {
+		sketch.increment(key);
+		
+		if (window.containsKey(key)) {
+			window.get(key);
+		} else if (probation.remove(key) != null) {
+			protectedSegment.put(key, Boolean.TRUE);
+			this.demoteProtected();
+		} else {
+			protectedSegment.get(key);
+		}
+	}
+
+	@Override
+	public void onWrite(String key) {
+		if (window.containsKey(key) || probation.containsKey(key) || protectedSegment.containsKey(key)) {
+			this.onAccess(key);
+			return;
+		}
+		
+		sketch.increment(key);
+		window.put(key, Boolean.TRUE);
+		
+		while (window.size() > windowMaximum) {
+			String first = removeFirst(window);
+			probation.put(first, Boolean.TRUE);
+			// 只有容量超限时才需要准入比较
+			if (this.size() > maximumSize) {
+				// 按权重淘汰时候选者可能不被取走，只保留最近的一批
+				if (candidates.size() >= windowMaximum) {
+					candidates.pollFirst();
+				}
+				candidates.addLast(first);
+			}
+		}
+	}
+
+	@Override
+	public void onRemove(String key) {
+		if (window.remove(key) == null && probation.remove(key) == null) {
+			protectedSegment.remove(key);
+		}
+	}
+
+	@Override
+	public String evict() {
+		while (!candidates.isEmpty()) {
+			String candidate = candidates.pollFirst();
+			if (!probation.containsKey(candidate)) {
+				// 已被访问晋升或已被删除
+				continue;
+			}
+			
+			String victim = this.findVictim(candidate);
+			if (victim == null || sketch.frequency(candidate) <= sketch.frequency(victim)) {
+				probation.remove(candidate);
+				return candidate;
+			}
+			
+			this.onRemove(victim);
+			return victim;
+		}
+		
+		if (!probation.isEmpty()) {
+			return removeFirst(probation);
+		}
+		if (!protectedSegment.isEmpty()) {
+			return removeFirst(protectedSegment);
+		}
+		if (!window.isEmpty()) {
+			return removeFirst(window);
+		}
+		return null;
+	}
+
+	/**
+	 * 试用段最冷，其次窗口区，最后保护段
+	 */
+	@Override
+	public List<String> coldest(int limit) {
+		List<String> keys = new ArrayList<String>(limit);
+		addKeys(probation, keys, limit);
+		addKeys(window, keys, limit);
+		addKeys(protectedSegment, keys, limit);
+		return keys;
+	}
+
+	@Override
+	public void clear() {
+		window.clear();
+		probation.clear();
+		protectedSegment.clear();
+		candidates.clear();
+	}
+	
+	private long size() {
+		return window.size() + probation.size() + protectedSegment.size();
+	}
+	
+	/**
+	 * 在主区中找出与候选者比较的淘汰对象：优先试用段，其次保护段
+	 */
+	private String findVictim(String candidate) {
+		for (String key : probation.keySet()) {
+			if (!key.equals(candidate)) {
+				return key;
+			}
+		}
+		
+		Iterator<String> iterator = protectedSegment.keySet().iterator();
+		return iterator.hasNext() ? iterator.next() : null;
+	}
+	
+	/**
+	 * 保护段超限时，把最久未访问的key降级回试用段
+	 */
+	private void demoteProtected() {
+		while (protectedSegment.size() > protectedMaximum) {
+			probation.put(removeFirst(protectedSegment), Boolean.TRUE);
+		}
+	}
+	
+	private static void addKeys(LinkedHashMap<String, Boolean> segment, List<String> keys, int limit) {
+		for (String key : segment.keySet()) {
+			if (keys.size() >= limit) {
+				return;
+			}
+			keys.add(key);
+		}
+	}
+	
+	private static String removeFirst(LinkedHashMap<String, Boolean> segment) {
+		Iterator<String> iterator = segment.keySet().iterator();
+		String first = iterator.next();
+		iterator.remove();
+		return first;
+	}
+	
+}
@@ -0,0 +1,129 @@
+package cn.javaex.htool.cache.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 有序key索引
+ * <p>
+ * 基于跳表，按前缀查询只访问匹配的key（O(log n + 匹配数)）；
+ * 通配符查询先按通配符前的固定前缀缩小范围，再逐个匹配。
+ * 通配符：* 匹配任意多个字符，? 匹配单个字符。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class KeyIndex {
+	
+	private final NavigableSet<String> keys = new ConcurrentSkipListSet<String>();
+	
+	public void add(String key) {
+		keys.add(key);
+	}
+	
+	public void remove(String key) {
+		keys.remove(key);
+	}
+	
+	public void clear() {
+		keys.clear();
+	}
+	
+	public int size() {
+		return keys.size();
+	}
+	
+	/**
+	 * 按前缀查询
+	 * @param prefix
+	 * @return 按字典序排列
+	 */
+	public List<String> keysByPrefix(String prefix) {
+		List<String> result = new ArrayList<String>();
+		for (String key : keys.tailSet(prefix, true)) {
+			if (!key.startsWith(prefix)) {
+				break;
+			}
+			result.add(key);
+		}
+		return result;
+	}
+	
+	/**
+	 * 按通配符查询
+	 * @param pattern : 如 user:*:profile
+	 * @return 按字典序排列
+	 */
+	public List<String> keysByPattern(String pattern) {
+		String prefix = literalPrefix(pattern);
+		if (prefix.length() == pattern.length()) {
+			List<String> result = new ArrayList<String>(1);
+			if (keys.contains(pattern)) {
+				result.add(pattern);
+			}
+			return result;
+		}
+		
+		List<String> result = new ArrayList<String>();
+		for (String key : keys.tailSet(prefix, true)) {
+			if (!key.startsWith(prefix)) {
+				break;
+			}
+			if (matches(pattern, key)) {
+				result.add(key);
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * 通配符前的固定前缀
+	 * @param pattern
+	 * @return
+	 */
+	public static String literalPrefix(String pattern) {
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '*' || c == '?') {
+				return pattern.substring(0, i);
+			}
+		}
+		return pattern;
+	}
+	
+	/**
+	 * 判断key是否匹配通配符（* 匹配任意多个字符，? 匹配单个字符）
+	 * @param pattern
+	 * @param key
+	 * @return
+	 */
+	public static boolean matches(String pattern, String key) {
+		int p = 0;
+		int k = 0;
+		// 最近一个*的位置，以及它匹配到的key位置，用于回溯
+		int starIndex = -1;
+		int starMatch = 0;
+		while (k < key.length()) {
+			if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == key.charAt(k))
+					&& pattern.charAt(p) != '*') {
+				p++;
+				k++;
+			} else if (p < pattern.length() && pattern.charAt(p) == '*') {
+				starIndex = p++;
+				starMatch = k;
+			} else if (starIndex != -1) {
+				p = starIndex + 1;
+				k = ++starMatch;
+			} else {
+				return false;
+			}
+		}
+		while (p < pattern.length() && pattern.charAt(p) == '*') {
+			p++;
+		}
+		return p == pattern.length();
+	}
+	
+}
@@ -0,0 +1,38 @@
+package cn.javaex.htool.cache.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * 失效通知传输接口
+ * <p>
+ * 一个传输实例可以被多个缓存实例共用，通过消息中的频道区分；共用的缓存全部关闭后，传输随之关闭。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public interface IInvalidationTransport {
+
+	/**
+	 * 发送通知（发送失败时不抛出异常，失效通知允许丢失，由过期时间兜底）
+	 * @param message
+	 */
+	void publish(InvalidationMessage message);
+	
+	/**
+	 * 订阅通知，包括本节点自己发出的通知
+	 * @param listener
+	 */
+	void subscribe(Consumer<InvalidationMessage> listener);
+	
+	/**
+	 * 取消订阅
+	 * @param listener
+	 */
+	void unsubscribe(Consumer<InvalidationMessage> listener);
+	
+	/**
+	 * 关闭传输，释放网络资源
+	 */
+	void close();
+	
+}
@@ -0,0 +1,226 @@
+package cn.javaex.htool.cache.invalidation;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import cn.javaex.htool.cache.enums.InvalidationType;
+import cn.javaex.htool.cache.task.CacheExecutors;
+
+/**
+ * 失效通知总线
+ * <p>
+ * 本节点写入或删除的key先放入队列，按固定间隔（或积累到一批时）去重后合并为一条通知发出；
+ * 按前缀、通配符和全部失效的通知先发出队列中的key，再立即发出。
+ * 收到的通知中，自己发出的和其它频道的直接忽略，其余交给处理函数在本地失效，不会再次广播。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class InvalidationBus {
+	
+	/**
+	 * 默认合并发送间隔：单位（毫秒）
+	 */
+	public static final long DEFAULT_FLUSH_INTERVAL = 10L;
+	/**
+	 * 一条通知最多包含的key数量
+	 */
+	private static final int MAX_BATCH_SIZE = 512;
+	/**
+	 * 每个传输正在被多少个总线使用，最后一个总线关闭时关闭传输
+	 */
+	private static final Map<IInvalidationTransport, Integer> TRANSPORT_USERS = new IdentityHashMap<IInvalidationTransport, Integer>();
+	
+	private final String nodeId = UUID.randomUUID().toString();
+	private final String channel;
+	private final IInvalidationTransport transport;
+	private final Consumer<InvalidationMessage> handler;
+	private final long flushInterval;
+	private final Consumer<InvalidationMessage> listener;
+	
+	private final ConcurrentLinkedQueue<String> pendingKeys = new ConcurrentLinkedQueue<String>();
+	/**
+	 * 是否已提交了一次提前发送
+	 */
+	private final AtomicBoolean flushSubmitted = new AtomicBoolean();
+	private volatile FlushTask flushTask;
+	
+	/**
+	 * @param channel : 频道，只处理同一频道的通知
+	 * @param transport : 传输方式
+	 * @param handler : 收到其它节点的通知时在本地失效
+	 * @param flushInterval : 合并发送间隔，单位（毫秒）
+	 */
+	public InvalidationBus(String channel, IInvalidationTransport transport, Consumer<InvalidationMessage> handler, long flushInterval) {
+		this.channel = channel;
+		this.transport = transport;
+		this.handler = handler;
+		this.flushInterval = flushInterval;
+		this.listener = new WeakListener(this, transport);
+	}
+	
+	/**
+	 * 订阅通知并开始定时发送
+	 */
+	public void start() {
+		synchronized (TRANSPORT_USERS) {
+			TRANSPORT_USERS.merge(transport, 1, Integer::sum);
+		}
+		transport.subscribe(listener);
+		flushTask = new FlushTask(this);
+		flushTask.future = CacheExecutors.getScheduler().scheduleWithFixedDelay(flushTask, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * 停止定时发送，发出队列中剩余的key并取消订阅；没有其它总线使用该传输时关闭传输
+	 */
+	public void close() {
+		if (flushTask != null) {
+			flushTask.cancel();
+		}
+		this.flush();
+		transport.unsubscribe(listener);
+		
+		synchronized (TRANSPORT_USERS) {
+			Integer count = TRANSPORT_USERS.get(transport);
+			if (count == null) {
+				return;
+			}
+			if (count > 1) {
+				TRANSPORT_USERS.put(transport, count - 1);
+				return;
+			}
+			TRANSPORT_USERS.remove(transport);
+		}
+		transport.close();
+	}
+	
+	public String getNodeId() {
+		return nodeId;
+	}
+	
+	/**
+	 * key被写入或删除，放入队列等待合并发送
+	 * @param key
+	 */
+	public void publishKey(String key) {
+		pendingKeys.offer(key);
+		// 积累较多时不等定时任务，提前发送
+		if (pendingKeys.size() >= MAX_BATCH_SIZE && flushSubmitted.compareAndSet(false, true)) {
+			CacheExecutors.getScheduler().execute(() -> {
+				flushSubmitted.set(false);
+				this.flush();
+			});
+		}
+	}
+	
+	/**
+	 * 立即发送按前缀、通配符或全部失效的通知
+	 * @param type
+	 * @param value : 前缀或通配符，ALL时为null
+	 */
+	public void publish(InvalidationType type, String value) {
+		this.flush();
+		List<String> keys = value == null ? Collections.<String>emptyList() : Collections.singletonList(value);
+		transport.publish(new InvalidationMessage(nodeId, channel, type, keys));
+	}
+	
+	/**
+	 * 发送队列中的key
+	 */
+	public synchronized void flush() {
+		Set<String> keys = new LinkedHashSet<String>();
+		String key;
+		while ((key = pendingKeys.poll()) != null) {
+			keys.add(key);
+			if (keys.size() >= MAX_BATCH_SIZE) {
+				this.send(keys);
+				keys = new LinkedHashSet<String>();
+			}
+		}
+		if (!keys.isEmpty()) {
+			this.send(keys);
+		}
+	}
+	
+	private void send(Set<String> keys) {
+		transport.publish(new InvalidationMessage(nodeId, channel, InvalidationType.KEYS, new ArrayList<String>(keys)));
+	}
+	
+	private void onMessage(InvalidationMessage message) {
+		if (nodeId.equals(message.getSourceId()) || !channel.equals(message.getChannel())) {
+			return;
+		}
+		handler.accept(message);
+	}
+	
+	/**
+	 * 弱引用订阅者，缓存实例被回收后自动取消订阅
+	 */
+	private static class WeakListener implements Consumer<InvalidationMessage> {
+		private final WeakReference<InvalidationBus> busRef;
+		private final IInvalidationTransport transport;
+		
+		WeakListener(InvalidationBus bus, IInvalidationTransport transport) {
+			this.busRef = new WeakReference<InvalidationBus>(bus);
+			this.transport = transport;
+		}
+
+		@Override
+		public void accept(InvalidationMessage message) {
+			InvalidationBus bus = busRef.get();
+			if (bus == null) {
+				transport.unsubscribe(this);
+				return;
+			}
+			bus.onMessage(message);
+		}
+	}
+	
+	/**
+	 * 弱引用定时发送任务，缓存实例被回收后自动停止
+	 */
+	private static class FlushTask implements Runnable {
+		private final WeakReference<InvalidationBus> busRef;
+		private volatile ScheduledFuture<?> future;
+		
+		FlushTask(InvalidationBus bus) {
+			this.busRef = new WeakReference<InvalidationBus>(bus);
+		}
+		
+		void cancel() {
+			if (future != null) {
+				future.cancel(false);
+			}
+		}
+
+		@Override
+		public void run() {
+			InvalidationBus bus = busRef.get();
+			if (bus == null) {
+				this.cancel();
+				return;
+			}
+			
+			try {
+				bus.flush();
+			} catch (Throwable e) {
+				// 不能让异常终止定时任务
+				e.printStackTrace();
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,57 @@
+package cn.javaex.htool.cache.invalidation;
+
+import java.util.Collections;
+import java.util.List;
+
+import cn.javaex.htool.cache.enums.InvalidationType;
+
+/**
+ * 失效通知（只包含key，不包含缓存数据）
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class InvalidationMessage {
+	/**
+	 * 发送节点ID，用于忽略自己发出的通知
+	 */
+	private final String sourceId;
+	/**
+	 * 频道，只有同一频道的缓存实例才处理
+	 */
+	private final String channel;
+	private final InvalidationType type;
+	/**
+	 * KEYS时为key，PREFIX时为前缀，PATTERN时为通配符，ALL时为空
+	 */
+	private final List<String> keys;
+	
+	public InvalidationMessage(String sourceId, String channel, InvalidationType type, List<String> keys) {
+		this.sourceId = sourceId;
+		this.channel = channel;
+		this.type = type;
+		this.keys = keys == null ? Collections.<String>emptyList() : keys;
+	}
+
+	public String getSourceId() {
+		return sourceId;
+	}
+
+	public String getChannel() {
+		return channel;
+	}
+
+	public InvalidationType getType() {
+		return type;
+	}
+
+	public List<String> getKeys() {
+		return keys;
+	}
+
+	@Override
+	public String toString() {
+		return "InvalidationMessage [sourceId=" + sourceId + ", channel=" + channel + ", type=" + type + ", keys=" + keys + "]";
+	}
+	
+}
@@ -0,0 +1,48 @@
+package cn.javaex.htool.cache.invalidation.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import cn.javaex.htool.cache.invalidation.IInvalidationTransport;
+import cn.javaex.htool.cache.invalidation.InvalidationMessage;
+
+/**
+ * 进程内传输：在发送线程上直接通知所有订阅者
+ * <p>
+ * 用于测试，或同一JVM中多个缓存实例之间保持一致。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class InProcessInvalidationTransport implements IInvalidationTransport {
+	
+	private final List<Consumer<InvalidationMessage>> listeners = new CopyOnWriteArrayList<Consumer<InvalidationMessage>>();
+
+	@Override
+	public void publish(InvalidationMessage message) {
+		for (Consumer<InvalidationMessage> listener : listeners) {
+			try {
+				listener.accept(message);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<InvalidationMessage> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void unsubscribe(Consumer<InvalidationMessage> listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public void close() {
+		listeners.clear();
+	}
+	
+}
@@ -0,0 +1,229 @@
+package cn.javaex.htool.cache.invalidation.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import cn.javaex.htool.cache.enums.InvalidationType;
+import cn.javaex.htool.cache.invalidation.IInvalidationTransport;
+import cn.javaex.htool.cache.invalidation.InvalidationMessage;
+
+/**
+ * 本机组播传输：同一台机器上的多个JVM通过回环网卡上的组播互相通知
+ * <p>
+ * TTL为0，数据包不会离开本机。一个通知超过单个数据包的大小时拆成多个数据包发送；
+ * 单个key就超过一个数据包时，改为发送该频道全部失效的通知，其它节点不会留下旧数据。
+ * 组播是不可靠传输，丢失的通知由缓存的过期时间兜底。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class MulticastInvalidationTransport implements IInvalidationTransport {
+	
+	public static final String DEFAULT_GROUP = "239.255.27.1";
+	public static final int DEFAULT_PORT = 45700;
+	
+	private static final int MAGIC = 0x48544349;
+	/**
+	 * 协议版本，字符串使用长度前缀的UTF-8字节
+	 */
+	private static final byte VERSION = 2;
+	/**
+	 * 单个数据包的最大字节数（回环网卡MTU足够大，留出IP/UDP头）
+	 */
+	private static final int MAX_PACKET_SIZE = 60 * 1024;
+	
+	private final InetAddress group;
+	private final int port;
+	private final MulticastSocket socket;
+	private final List<Consumer<InvalidationMessage>> listeners = new CopyOnWriteArrayList<Consumer<InvalidationMessage>>();
+	private volatile boolean closed;
+	
+	public MulticastInvalidationTransport() {
+		this(DEFAULT_GROUP, DEFAULT_PORT);
+	}
+	
+	/**
+	 * @param group : 组播地址，如239.255.27.1
+	 * @param port : 端口
+	 */
+	public MulticastInvalidationTransport(String group, int port) {
+		try {
+			this.group = InetAddress.getByName(group);
+			this.port = port;
+			this.socket = new MulticastSocket(port);
+			socket.setNetworkInterface(NetworkInterface.getByInetAddress(InetAddress.getLoopbackAddress()));
+			socket.setTimeToLive(0);
+			// false表示开启回环，同一台机器上的其它JVM才能收到
+			socket.setLoopbackMode(false);
+			socket.joinGroup(this.group);
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot open multicast socket " + group + ":" + port, e);
+		}
+		
+		Thread receiver = new Thread(this::receive, "htool-cache-invalidation-" + port);
+		receiver.setDaemon(true);
+		receiver.start();
+	}
+
+	@Override
+	public void publish(InvalidationMessage message) {
+		if (closed) {
+			return;
+		}
+		
+		List<String> oversizedKeys = new ArrayList<String>();
+		try {
+			List<byte[]> packets = encode(message, oversizedKeys);
+			if (!oversizedKeys.isEmpty()) {
+				// 有key放不进一个数据包，改为通知其它节点清空该频道的全部缓存
+				InvalidationMessage all = new InvalidationMessage(message.getSourceId(), message.getChannel(),
+						InvalidationType.ALL, Collections.<String>emptyList());
+				packets = encode(all, oversizedKeys);
+			}
+			for (byte[] bytes : packets) {
+				socket.send(new DatagramPacket(bytes, bytes.length, group, port));
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<InvalidationMessage> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void unsubscribe(Consumer<InvalidationMessage> listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		listeners.clear();
+		try {
+			socket.leaveGroup(group);
+		} catch (IOException e) {
+			// 关闭时忽略
+		}
+		socket.close();
+	}
+	
+	private void receive() {
+		byte[] buffer = new byte[MAX_PACKET_SIZE];
+		while (!closed) {
+			try {
+				DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+				socket.receive(packet);
+				InvalidationMessage message = decode(packet.getData(), packet.getOffset(), packet.getLength());
+				if (message == null) {
+					continue;
+				}
+				for (Consumer<InvalidationMessage> listener : listeners) {
+					listener.accept(message);
+				}
+			} catch (SocketException e) {
+				// 关闭socket时退出
+				if (!closed) {
+					e.printStackTrace();
+				}
+				return;
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+	
+	/**
+	 * 编码，超过单个数据包大小时按key拆分
+	 * @param oversizedKeys : 单独一个也放不进数据包的key，不编码，放入该列表
+	 */
+	private static List<byte[]> encode(InvalidationMessage message, List<String> oversizedKeys) throws IOException {
+		List<byte[]> packets = new ArrayList<byte[]>();
+		encode(message, message.getKeys(), packets, oversizedKeys);
+		return packets;
+	}
+	
+	private static void encode(InvalidationMessage message, List<String> keys, List<byte[]> packets, List<String> oversizedKeys) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bos);
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		writeString(out, message.getSourceId());
+		writeString(out, message.getChannel());
+		out.writeByte(message.getType().ordinal());
+		out.writeInt(keys.size());
+		for (String key : keys) {
+			writeString(out, key);
+		}
+		out.flush();
+		
+		if (bos.size() <= MAX_PACKET_SIZE) {
+			packets.add(bos.toByteArray());
+			return;
+		}
+		if (keys.isEmpty()) {
+			throw new IOException("Invalidation channel is too long for a multicast packet: " + message.getChannel().length() + " chars");
+		}
+		if (keys.size() == 1) {
+			oversizedKeys.add(keys.get(0));
+			return;
+		}
+		
+		int half = keys.size() / 2;
+		encode(message, keys.subList(0, half), packets, oversizedKeys);
+		encode(message, keys.subList(half, keys.size()), packets, oversizedKeys);
+	}
+	
+	/**
+	 * 解码，不是本协议的数据包返回null
+	 */
+	private static InvalidationMessage decode(byte[] data, int offset, int length) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length));
+		if (length < 5 || in.readInt() != MAGIC || in.readByte() != VERSION) {
+			return null;
+		}
+		
+		String sourceId = readString(in);
+		String channel = readString(in);
+		InvalidationType type = InvalidationType.values()[in.readByte()];
+		int count = in.readInt();
+		List<String> keys = new ArrayList<String>(Math.min(count, 1024));
+		for (int i = 0; i < count; i++) {
+			keys.add(readString(in));
+		}
+		return new InvalidationMessage(sourceId, channel, type, keys);
+	}
+	
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+	
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > in.available()) {
+			throw new IOException("Malformed invalidation packet");
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+}
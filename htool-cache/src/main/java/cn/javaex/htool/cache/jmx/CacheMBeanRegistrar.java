@@ -0,0 +1,69 @@
+package cn.javaex.htool.cache.jmx;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import cn.javaex.htool.cache.manager.ICacheManager;
+
+/**
+ * 缓存统计MBean的注册与注销
+ * <p>
+ * ObjectName：cn.javaex.htool.cache:type=CacheStatistics,name="缓存区域名称"
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class CacheMBeanRegistrar {
+	
+	private static final String DOMAIN = "cn.javaex.htool.cache";
+
+	/**
+	 * 注册（已注册时先注销再注册）
+	 * @param name : 缓存区域名称
+	 * @param cacheManager
+	 */
+	public static void register(String name, ICacheManager cacheManager) {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = objectName(name);
+		try {
+			try {
+				server.registerMBean(new CacheStatsMXBeanImpl(cacheManager), objectName);
+			} catch (InstanceAlreadyExistsException e) {
+				server.unregisterMBean(objectName);
+				server.registerMBean(new CacheStatsMXBeanImpl(cacheManager), objectName);
+			}
+		} catch (JMException e) {
+			throw new IllegalStateException("Cannot register cache MBean: " + objectName, e);
+		}
+	}
+	
+	/**
+	 * 注销，未注册时不做任何事
+	 * @param name : 缓存区域名称
+	 */
+	public static void unregister(String name) {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = objectName(name);
+		try {
+			server.unregisterMBean(objectName);
+		} catch (InstanceNotFoundException e) {
+			// 未注册
+		} catch (JMException e) {
+			throw new IllegalStateException("Cannot unregister cache MBean: " + objectName, e);
+		}
+	}
+	
+	private static ObjectName objectName(String name) {
+		try {
+			return new ObjectName(DOMAIN + ":type=CacheStatistics,name=" + ObjectName.quote(name));
+		} catch (JMException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+	
+}
@@ -0,0 +1,33 @@
+package cn.javaex.htool.cache.jmx;
+
+/**
+ * 缓存统计JMX接口
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public interface CacheStatsMXBean {
+
+	long getHitCount();
+	
+	long getMissCount();
+	
+	long getRequestCount();
+	
+	double getHitRate();
+	
+	long getLoadSuccessCount();
+	
+	long getLoadFailureCount();
+	
+	/**
+	 * 平均加载耗时：单位（纳秒）
+	 * @return
+	 */
+	double getAverageLoadPenalty();
+	
+	long getEvictionCount();
+	
+	long getSize();
+	
+}
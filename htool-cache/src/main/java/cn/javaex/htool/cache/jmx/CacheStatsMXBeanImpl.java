@@ -0,0 +1,64 @@
+package cn.javaex.htool.cache.jmx;
+
+import cn.javaex.htool.cache.manager.ICacheManager;
+
+/**
+ * 缓存统计JMX实现，每次读取属性时从缓存实例取最新统计
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class CacheStatsMXBeanImpl implements CacheStatsMXBean {
+	
+	private final ICacheManager cacheManager;
+	
+	public CacheStatsMXBeanImpl(ICacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	@Override
+	public long getHitCount() {
+		return cacheManager.getStats().getHitCount();
+	}
+
+	@Override
+	public long getMissCount() {
+		return cacheManager.getStats().getMissCount();
+	}
+
+	@Override
+	public long getRequestCount() {
+		return cacheManager.getStats().getRequestCount();
+	}
+
+	@Override
+	public double getHitRate() {
+		return cacheManager.getStats().getHitRate();
+	}
+
+	@Override
+	public long getLoadSuccessCount() {
+		return cacheManager.getStats().getLoadSuccessCount();
+	}
+
+	@Override
+	public long getLoadFailureCount() {
+		return cacheManager.getStats().getLoadFailureCount();
+	}
+
+	@Override
+	public double getAverageLoadPenalty() {
+		return cacheManager.getStats().getAverageLoadPenalty();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return cacheManager.getStats().getEvictionCount();
+	}
+
+	@Override
+	public long getSize() {
+		return cacheManager.getStats().getSize();
+	}
+	
+}
@@ -0,0 +1,24 @@
+package cn.javaex.htool.cache.loader;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 异步缓存数据加载接口
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+@FunctionalInterface
+public interface AsyncCacheLoader {
+
+	/**
+	 * 异步加载单个key的数据
+	 * @param key
+	 * @param executor : 缓存配置的异步线程池，加载中需要阻塞的操作应提交到这里执行
+	 * @return 数据，结果为null表示没有数据
+	 * @throws Exception
+	 */
+	CompletableFuture<Object> asyncLoad(String key, Executor executor) throws Exception;
+	
+}
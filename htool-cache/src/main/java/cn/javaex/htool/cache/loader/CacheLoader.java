@@ -0,0 +1,52 @@
+package cn.javaex.htool.cache.loader;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 缓存数据加载接口
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+@FunctionalInterface
+public interface CacheLoader {
+
+	/**
+	 * 加载单个key的数据
+	 * @param key
+	 * @return 数据，返回null表示没有数据
+	 * @throws Exception
+	 */
+	Object load(String key) throws Exception;
+	
+	/**
+	 * 批量加载，默认逐个调用load
+	 * @param keys
+	 * @return key与数据的映射，不含没有数据的key
+	 * @throws Exception
+	 */
+	default Map<String, Object> loadAll(Set<String> keys) throws Exception {
+		Map<String, Object> map = new HashMap<String, Object>();
+		for (String key : keys) {
+			Object value = this.load(key);
+			if (value != null) {
+				map.put(key, value);
+			}
+		}
+		return map;
+	}
+	
+	/**
+	 * 刷新已有数据，默认等同于load
+	 * @param key
+	 * @param oldValue : 当前缓存中的数据
+	 * @return 新数据，返回null时保留旧数据
+	 * @throws Exception
+	 */
+	default Object reload(String key, Object oldValue) throws Exception {
+		return this.load(key);
+	}
+	
+}
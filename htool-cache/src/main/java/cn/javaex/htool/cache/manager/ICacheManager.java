@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Set;
 
 import cn.javaex.htool.cache.model.CacheInfo;
+import cn.javaex.htool.cache.model.CacheStats;
 
 /**
  * 缓存接口
@@ -14,6 +15,13 @@ import cn.javaex.htool.cache.model.CacheInfo;
  */
 public interface ICacheManager extends Serializable {
 
+	/**
+	 * 写入缓存（使用缓存实例配置的默认过期时间）
+	 * @param key
+	 * @param cacheData
+	 */
+	void setCache(String key, Object cacheData);
+
 	/**
 	 * 写入缓存
 	 * @param key
@@ -47,6 +55,18 @@ public interface ICacheManager extends Serializable {
 	 */
 	void removeByKey(String key);
 
+	/**
+	 * 清除key以prefix开头的缓存
+	 * @param prefix
+	 */
+	void removeByPrefix(String prefix);
+	
+	/**
+	 * 清除key匹配通配符的缓存（* 匹配任意多个字符，? 匹配单个字符）
+	 * @param pattern
+	 */
+	void removeByPattern(String pattern);
+
 	/**
 	 * 判断缓存是否超时失效（true表示已失效）
 	 * @param key
@@ -60,6 +80,20 @@ public interface ICacheManager extends Serializable {
 	 */
 	Set<String> getAllKeys();
 	
+	/**
+	 * 获取以prefix开头的key
+	 * @param prefix
+	 * @return 按字典序排列
+	 */
+	Set<String> keysByPrefix(String prefix);
+	
+	/**
+	 * 获取匹配通配符的key（* 匹配任意多个字符，? 匹配单个字符）
+	 * @param pattern
+	 * @return 按字典序排列
+	 */
+	Set<String> keysByPattern(String pattern);
+	
 	/**
 	 * 获取所有缓存信息
 	 * @param key
@@ -74,4 +108,16 @@ public interface ICacheManager extends Serializable {
 	 */
 	CacheInfo getCacheInfo(String key);
 	
+	/**
+	 * 获取统计信息（命中率、淘汰次数等）
+	 * @return
+	 */
+	CacheStats getStats();
+	
+	/**
+	 * 关闭缓存：停止后台定时任务，写入延迟写入队列中剩余的数据和快照，释放通知传输等资源。
+	 * 关闭后不应再使用该缓存实例，重复调用不做任何事
+	 */
+	void close();
+	
 }
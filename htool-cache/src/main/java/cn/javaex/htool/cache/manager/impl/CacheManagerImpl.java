@@ -1,12 +1,47 @@
 package cn.javaex.htool.cache.manager.impl;
 
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import cn.javaex.htool.cache.CacheBuilder;
+import cn.javaex.htool.cache.buffer.StripedReadBuffer;
+import cn.javaex.htool.cache.enums.InvalidationType;
+import cn.javaex.htool.cache.eviction.IEvictionPolicy;
+import cn.javaex.htool.cache.index.KeyIndex;
+import cn.javaex.htool.cache.invalidation.InvalidationBus;
+import cn.javaex.htool.cache.invalidation.InvalidationMessage;
+import cn.javaex.htool.cache.loader.CacheLoader;
 import cn.javaex.htool.cache.manager.ICacheManager;
 import cn.javaex.htool.cache.model.CacheInfo;
+import cn.javaex.htool.cache.model.CacheStats;
+import cn.javaex.htool.cache.offheap.OffHeapStore;
+import cn.javaex.htool.cache.persist.SnapshotStore;
+import cn.javaex.htool.cache.stats.IStatsCounter;
+import cn.javaex.htool.cache.stats.impl.ConcurrentStatsCounter;
+import cn.javaex.htool.cache.stats.impl.DisabledStatsCounter;
 import cn.javaex.htool.cache.task.CacheClearTask;
+import cn.javaex.htool.cache.task.CacheSnapshotTask;
+import cn.javaex.htool.cache.task.TimerNode;
+import cn.javaex.htool.cache.task.TimerWheel;
+import cn.javaex.htool.cache.weigher.Weigher;
+import cn.javaex.htool.cache.writer.CacheWriter;
+import cn.javaex.htool.cache.writer.WriteBehindQueue;
 
 /**
  * 缓存管理
@@ -17,11 +52,266 @@ import cn.javaex.htool.cache.task.CacheClearTask;
 public class CacheManagerImpl implements ICacheManager {
 	private static final long serialVersionUID = 1L;
 	
-	public static Map<String, CacheInfo> cacheMap = new ConcurrentHashMap<String, CacheInfo>();
+	/**
+	 * 按权重淘汰时，从最冷的多少个key中挑选权重最大的
+	 */
+	private static final int WEIGHT_EVICTION_SAMPLE = 8;
+	/**
+	 * 只限制权重时，按平均每条1KB估算条目数，用于初始化淘汰策略
+	 */
+	private static final long ESTIMATED_ENTRY_WEIGHT = 1024L;
+	/**
+	 * 转入堆外层的分段锁数量
+	 */
+	private static final int SPILL_LOCK_STRIPES = 64;
 	
-	static {
-		CacheClearTask cacheTask = new CacheClearTask(new CacheManagerImpl());
-		cacheTask.clearSchedule();
+	/**
+	 * 当前实例使用的缓存容器
+	 */
+	private final transient Map<String, CacheInfo> cacheMap;
+	/**
+	 * 最大条目数（小于等于0表示不限制）
+	 */
+	private final long maximumSize;
+	/**
+	 * 最大总权重（小于等于0表示不限制）
+	 */
+	private final long maximumWeight;
+	/**
+	 * 权重计算（不限制权重时为null）
+	 */
+	private final transient Weigher weigher;
+	/**
+	 * 当前总权重，在淘汰策略锁内修改
+	 */
+	private long totalWeight;
+	/**
+	 * 默认过期时间：单位（毫秒）（0表示永不失效）
+	 */
+	private final long defaultExpireTime;
+	/**
+	 * 空闲失效时间：单位（毫秒）（0表示不按空闲时间失效）
+	 */
+	private final long idleTime;
+	/**
+	 * 淘汰策略（不限制条目数和权重时为null），同时作为写入/淘汰的锁
+	 */
+	private final transient IEvictionPolicy evictionPolicy;
+	/**
+	 * 过期时间轮
+	 */
+	private final transient TimerWheel timerWheel;
+	/**
+	 * 读取记录缓冲（不淘汰且不按空闲失效时为null），批量交给淘汰策略并更新最后访问时间
+	 */
+	private final transient StripedReadBuffer<String> readBuffer;
+	/**
+	 * 处理读取记录的锁（有淘汰策略时就是淘汰策略）
+	 */
+	private final transient Object drainLock;
+	/**
+	 * 是否有读取线程正在处理读取记录，避免缓冲写满时多个读取线程排队等锁
+	 */
+	private final transient AtomicBoolean draining = new AtomicBoolean();
+	/**
+	 * 写入多久后异步刷新：单位（毫秒）（0表示不刷新）
+	 */
+	private final long refreshTime;
+	private final transient CacheLoader cacheLoader;
+	private final transient Executor refreshExecutor;
+	/**
+	 * 正在刷新的key，保证同一个key只有一个刷新任务
+	 */
+	private final transient Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+	/**
+	 * 堆外层（未配置时为null），存放堆内淘汰下来的数据
+	 */
+	private final transient OffHeapStore offHeapStore;
+	/**
+	 * 已从堆内淘汰、还没有转入堆外层的数据。删除、重新写入和清空时移除标记，
+	 * 转入时发现标记已不是自己则放弃，避免已删除的数据被写回堆外层
+	 */
+	private final transient ConcurrentMap<String, CacheInfo> spillingMap = new ConcurrentHashMap<String, CacheInfo>();
+	/**
+	 * 同一个key的多次转入按顺序执行（按key的hash分段加锁）
+	 */
+	private final transient Object[] spillLocks;
+	/**
+	 * 快照存储（未配置时为null）
+	 */
+	private final transient SnapshotStore snapshotStore;
+	/**
+	 * 有序key索引（未启用时为null），包含堆内和堆外层的key
+	 */
+	private final transient KeyIndex keyIndex;
+	/**
+	 * 失效通知总线（未配置时为null）
+	 */
+	private final transient InvalidationBus invalidationBus;
+	/**
+	 * 未命中时从后端加载（未配置时为null）
+	 */
+	private final transient CacheLoader readThroughLoader;
+	/**
+	 * 正在从后端加载的key，保证同一个key只加载一次
+	 */
+	private final transient ConcurrentMap<String, CompletableFuture<Object>> readThroughMap = new ConcurrentHashMap<String, CompletableFuture<Object>>();
+	/**
+	 * 同步写入后端（未配置或延迟写入时为null）
+	 */
+	private final transient CacheWriter writeThroughWriter;
+	/**
+	 * 延迟写入队列（未配置时为null）
+	 */
+	private final transient WriteBehindQueue writeBehindQueue;
+	
+	/**
+	 * 统计计数（关闭统计时为空实现）
+	 */
+	private final transient IStatsCounter statsCounter;
+	
+	/**
+	 * 定时清理、定时快照任务（未配置快照时为null）
+	 */
+	private final transient CacheClearTask clearTask;
+	private final transient CacheSnapshotTask snapshotTask;
+	/**
+	 * 进程退出时写入剩余数据的钩子（未配置延迟写入和快照时为null）
+	 */
+	private final transient Thread shutdownHook;
+	private final transient AtomicBoolean closed = new AtomicBoolean();
+	
+	/**
+	 * 创建一个使用默认配置（不限容量）的独立缓存实例
+	 */
+	public CacheManagerImpl() {
+		this(CacheBuilder.newBuilder());
+	}
+	
+	/**
+	 * 按构建器配置创建独立的缓存实例
+	 * @param builder
+	 */
+	public CacheManagerImpl(CacheBuilder builder) {
+		this.cacheMap = new ConcurrentHashMap<String, CacheInfo>();
+		this.maximumSize = builder.getMaximumSize();
+		this.defaultExpireTime = builder.getExpireTime();
+		this.maximumWeight = builder.getMaximumWeight();
+		this.weigher = maximumWeight > 0 ? builder.getWeigher() : null;
+		if (maximumSize > 0) {
+			this.evictionPolicy = builder.getEvictionPolicy().create(maximumSize);
+		} else if (maximumWeight > 0) {
+			this.evictionPolicy = builder.getEvictionPolicy().create(Math.max(maximumWeight / ESTIMATED_ENTRY_WEIGHT, 1L));
+		} else {
+			this.evictionPolicy = null;
+		}
+		this.idleTime = builder.getIdleTime();
+		this.timerWheel = new TimerWheel(builder.getTimerTick());
+		this.readBuffer = (evictionPolicy != null || idleTime > 0) ? new StripedReadBuffer<String>() : null;
+		this.drainLock = evictionPolicy != null ? evictionPolicy : new Object();
+		this.refreshTime = builder.getRefreshTime();
+		this.cacheLoader = builder.getCacheLoader();
+		this.refreshExecutor = builder.getRefreshExecutor();
+		this.offHeapStore = builder.getOffHeapCapacity() > 0
+				? new OffHeapStore(builder.getOffHeapCapacity(), builder.getSerializer(), builder.getOffHeapFile())
+				: null;
+		this.spillLocks = offHeapStore != null ? newLocks(SPILL_LOCK_STRIPES) : null;
+		this.snapshotStore = builder.getSnapshotDirectory() != null
+				? new SnapshotStore(builder.getSnapshotDirectory(), builder.getSerializer())
+				: null;
+		this.keyIndex = builder.isKeyIndexEnabled() ? new KeyIndex() : null;
+		this.invalidationBus = builder.getInvalidationTransport() != null
+				? new InvalidationBus(builder.getInvalidationChannel(), builder.getInvalidationTransport(),
+						this::applyInvalidation, InvalidationBus.DEFAULT_FLUSH_INTERVAL)
+				: null;
+		this.readThroughLoader = builder.getReadThroughLoader();
+		this.writeThroughWriter = builder.isWriteBehind() ? null : builder.getCacheWriter();
+		this.writeBehindQueue = builder.isWriteBehind()
+				? new WriteBehindQueue(builder.getCacheWriter(), builder.getWriteBehindInterval(),
+						builder.getWriteBehindBatchSize(), builder.getWriteBehindMaxPending())
+				: null;
+		this.statsCounter = builder.isRecordStats() ? new ConcurrentStatsCounter() : DisabledStatsCounter.INSTANCE;
+		
+		this.clearTask = new CacheClearTask(this, builder.getTimerTick());
+		clearTask.clearSchedule();
+		if (invalidationBus != null) {
+			invalidationBus.start();
+		}
+		if (writeBehindQueue != null) {
+			writeBehindQueue.start();
+		}
+		
+		if (snapshotStore != null) {
+			// 启动时恢复上次的快照，已存在的key不覆盖
+			snapshotStore.load((key, cacheInfo) -> this.put(key, cacheInfo, true));
+			snapshotStore.clearDirty();
+			
+			this.snapshotTask = new CacheSnapshotTask(this, builder.getSnapshotInterval());
+			snapshotTask.snapshotSchedule();
+		} else {
+			this.snapshotTask = null;
+		}
+		
+		if (writeBehindQueue != null || snapshotStore != null) {
+			this.shutdownHook = new Thread(new ShutdownHook(this), "htool-cache-shutdown");
+			Runtime.getRuntime().addShutdownHook(shutdownHook);
+		} else {
+			this.shutdownHook = null;
+		}
+	}
+	
+	/**
+	 * 关闭缓存：停止定时任务，发出剩余的失效通知并关闭通知总线，写入延迟写入队列中剩余的数据和快照，并移除进程退出钩子
+	 */
+	@Override
+	public void close() {
+		if (!closed.compareAndSet(false, true)) {
+			return;
+		}
+		
+		clearTask.cancel();
+		if (snapshotTask != null) {
+			snapshotTask.cancel();
+		}
+		if (invalidationBus != null) {
+			invalidationBus.close();
+		}
+		this.flushOnClose();
+		
+		if (shutdownHook != null) {
+			try {
+				Runtime.getRuntime().removeShutdownHook(shutdownHook);
+			} catch (IllegalStateException e) {
+				// 进程正在退出，钩子会自行执行
+			}
+		}
+		if (offHeapStore != null) {
+			try {
+				offHeapStore.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+	
+	/**
+	 * 写入延迟写入队列中剩余的数据和快照
+	 */
+	private void flushOnClose() {
+		if (writeBehindQueue != null) {
+			writeBehindQueue.close();
+		}
+		this.snapshot();
+	}
+	
+	/**
+	 * 写入缓存（使用默认过期时间）
+	 * @param key
+	 * @param cacheData
+	 */
+	@Override
+	public void setCache(String key, Object cacheData) {
+		this.setCache(key, cacheData, defaultExpireTime);
 	}
 	
 	/**
@@ -36,26 +326,356 @@ public class CacheManagerImpl implements ICacheManager {
 			expireTime = 0L;
 		}
 		
-		cacheMap.put(key, new CacheInfo(cacheData, expireTime, System.currentTimeMillis()));
+		// 同步写入时先写后端，失败则缓存不变
+		if (writeThroughWriter != null) {
+			try {
+				writeThroughWriter.write(key, cacheData);
+			} catch (Exception e) {
+				throw writerException(key, e);
+			}
+		}
+		
+		CacheInfo cacheInfo = new CacheInfo(cacheData, expireTime, System.currentTimeMillis());
+		// 先删除堆外层的旧数据，新数据写入后可能立即被淘汰到堆外层
+		this.removeOffHeap(key);
+		this.put(key, cacheInfo, false);
+		
+		if (writeBehindQueue != null) {
+			writeBehindQueue.enqueueWrite(key, cacheData);
+		}
+		if (invalidationBus != null) {
+			invalidationBus.publishKey(key);
+		}
+	}
+	
+	/**
+	 * 写入堆内缓存，超出条目数或权重时淘汰（配置了堆外层时，被淘汰的数据转入堆外层）
+	 * @param key
+	 * @param cacheInfo
+	 * @param onlyIfAbsent : 为true时key已存在则不写入
+	 * @return 是否写入
+	 */
+	private boolean put(String key, CacheInfo cacheInfo, boolean onlyIfAbsent) {
+		if (idleTime > 0) {
+			cacheInfo.setIdleTime(idleTime);
+		}
+		
+		if (evictionPolicy == null) {
+			if (onlyIfAbsent) {
+				if (cacheMap.putIfAbsent(key, cacheInfo) != null) {
+					return false;
+				}
+			} else {
+				this.cancelExpiry(cacheMap.put(key, cacheInfo));
+			}
+			this.indexKey(key);
+			this.scheduleExpiry(key, cacheInfo);
+			this.markDirty(key);
+			return true;
+		}
+		
+		// 权重计算可能较慢，放到锁外执行
+		if (weigher != null) {
+			cacheInfo.setWeight(weigher.weigh(key, cacheInfo.getData()));
+		}
+		
+		List<Map.Entry<String, CacheInfo>> evictedList = null;
+		synchronized (evictionPolicy) {
+			if (onlyIfAbsent) {
+				if (cacheMap.putIfAbsent(key, cacheInfo) != null) {
+					return false;
+				}
+			} else {
+				CacheInfo old = cacheMap.put(key, cacheInfo);
+				if (old != null) {
+					this.cancelExpiry(old);
+					totalWeight -= old.getWeight();
+				}
+			}
+			totalWeight += cacheInfo.getWeight();
+			this.indexKey(key);
+			this.scheduleExpiry(key, cacheInfo);
+			this.markDirty(key);
+			// 淘汰前先把积压的读取记录交给淘汰策略
+			this.drainReadBufferLocked();
+			evictionPolicy.onWrite(key);
+			
+			while (true) {
+				String victim;
+				if (maximumSize > 0 && cacheMap.size() > maximumSize) {
+					victim = evictionPolicy.evict();
+				} else if (maximumWeight > 0 && totalWeight > maximumWeight) {
+					victim = this.selectHeaviestColdKey();
+				} else {
+					break;
+				}
+				if (victim == null) {
+					break;
+				}
+				CacheInfo evicted = cacheMap.remove(victim);
+				if (evicted != null) {
+					totalWeight -= evicted.getWeight();
+					this.cancelExpiry(evicted);
+					this.markDirty(victim);
+					statsCounter.recordEviction();
+					if (offHeapStore == null) {
+						this.unindexKey(victim);
+					} else {
+						if (evictedList == null) {
+							evictedList = new ArrayList<Map.Entry<String, CacheInfo>>();
+						}
+						evictedList.add(new AbstractMap.SimpleImmutableEntry<String, CacheInfo>(victim, evicted));
+						spillingMap.put(victim, evicted);
+					}
+				}
+			}
+		}
+		
+		// 序列化较慢，放到锁外执行
+		if (evictedList != null) {
+			for (Map.Entry<String, CacheInfo> entry : evictedList) {
+				this.spill(entry.getKey(), entry.getValue());
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * 从最冷的一批key中选出权重最大的并从淘汰策略中移除（在淘汰策略锁内调用）
+	 * @return 没有可淘汰的key时返回null
+	 */
+	private String selectHeaviestColdKey() {
+		String victim = null;
+		int victimWeight = -1;
+		for (String key : evictionPolicy.coldest(WEIGHT_EVICTION_SAMPLE)) {
+			CacheInfo cacheInfo = cacheMap.get(key);
+			int weight = cacheInfo == null ? 0 : cacheInfo.getWeight();
+			if (weight > victimWeight) {
+				victim = key;
+				victimWeight = weight;
+			}
+		}
+		
+		if (victim != null) {
+			evictionPolicy.onRemove(victim);
+		}
+		return victim;
+	}
+	
+	/**
+	 * 把堆内淘汰的数据转入堆外层
+	 * <p>
+	 * 写入前后各检查一次转入标记：写入前标记已变则不写；写入期间标记被删除、重新写入或清空移除时，删除刚写入的数据。
+	 */
+	private void spill(String key, CacheInfo cacheInfo) {
+		synchronized (spillLocks[(key.hashCode() & 0x7fffffff) % spillLocks.length]) {
+			if (spillingMap.get(key) != cacheInfo) {
+				return;
+			}
+			
+			if (cacheInfo.getData() == null || cacheInfo.isExpired(System.currentTimeMillis())) {
+				if (spillingMap.remove(key, cacheInfo)) {
+					this.unindexKey(key);
+				}
+				return;
+			}
+			
+			try {
+				offHeapStore.put(key, cacheInfo);
+			} catch (IllegalArgumentException e) {
+				// 不支持序列化的数据直接丢弃
+				if (spillingMap.remove(key, cacheInfo)) {
+					this.unindexKey(key);
+				}
+				return;
+			}
+			
+			// 转入期间key被删除、清空或又被写入堆内时，堆外的旧数据作废
+			if (!spillingMap.remove(key, cacheInfo) || cacheMap.containsKey(key)) {
+				offHeapStore.remove(key);
+			}
+		}
+	}
+	
+	/**
+	 * 删除堆外层的数据，并取消正在进行的转入
+	 */
+	private void removeOffHeap(String key) {
+		if (offHeapStore != null) {
+			spillingMap.remove(key);
+			offHeapStore.remove(key);
+		}
+	}
+	
+	private static Object[] newLocks(int count) {
+		Object[] locks = new Object[count];
+		for (int i = 0; i < count; i++) {
+			locks[i] = new Object();
+		}
+		return locks;
+	}
+	
+	/**
+	 * 从堆外层取回数据放入堆内
+	 * @return 取回的缓存信息，堆外层也没有时返回null
+	 */
+	private CacheInfo promote(String key) {
+		if (offHeapStore == null) {
+			return null;
+		}
+		
+		CacheInfo cacheInfo = offHeapStore.take(key);
+		if (cacheInfo == null) {
+			// 可能刚被其它线程取回
+			return cacheMap.get(key);
+		}
+		// 取回由读取触发，算作一次访问
+		cacheInfo.setLastAccessTime(System.currentTimeMillis());
+		
+		if (this.put(key, cacheInfo, true)) {
+			return cacheInfo;
+		}
+		
+		CacheInfo current = cacheMap.get(key);
+		return current != null ? current : cacheInfo;
 	}
 	
 	/**
 	 * 获取缓存数据
+	 * <p>
+	 * 只查询一次map，在取到的缓存信息上判断是否失效；
+	 * 失效时仅当key仍对应同一条缓存才删除，不会误删并发写入的新数据。
 	 * @param key
 	 * @return
 	 */
 	@Override
 	public Object getCache(String key) {
-		if (!this.isExistsKey(key)) {
-			return null;
+		CacheInfo cacheInfo = cacheMap.get(key);
+		if (cacheInfo == null) {
+			cacheInfo = this.promote(key);
+			if (cacheInfo == null) {
+				statsCounter.recordMiss();
+				return this.readThrough(key);
+			}
 		}
 		
-		if (this.isExpire(key)) {
-			this.removeByKey(key);
+		// 永不失效且不需要刷新的缓存不读取时钟
+		if (cacheInfo.getExpireTime() != 0 || idleTime > 0 || refreshTime > 0) {
+			long now = System.currentTimeMillis();
+			if (cacheInfo.isExpired(now) && this.isExpiredAfterDrain(cacheInfo, now)) {
+				this.removeIfSame(key, cacheInfo);
+				statsCounter.recordMiss();
+				return this.readThrough(key);
+			}
+			
+			if (refreshTime > 0 && (now - cacheInfo.getLastRefeshTime()) >= refreshTime) {
+				this.refreshAsync(key, cacheInfo);
+			}
+		}
+		
+		// 只写入当前线程的读取缓冲，不加锁；缓冲写满时尝试批量处理
+		if (readBuffer != null && readBuffer.offer(key)) {
+			this.tryDrainReadBuffer();
+		}
+		
+		statsCounter.recordHit();
+		return cacheInfo.getData();
+	}
+
+	/**
+	 * 未命中时从后端加载并写入缓存，同一个key同时只加载一次（未配置加载时返回null）
+	 * <p>
+	 * 还没有延迟写入后端的数据直接使用，不从后端读取旧数据
+	 */
+	private Object readThrough(String key) {
+		if (readThroughLoader == null) {
 			return null;
 		}
 		
-		return cacheMap.get(key).getData();
+		CompletableFuture<Object> future = new CompletableFuture<Object>();
+		CompletableFuture<Object> loading = readThroughMap.putIfAbsent(key, future);
+		if (loading != null) {
+			return join(loading);
+		}
+		
+		try {
+			Object value = null;
+			// 抢到加载权之前，可能已有线程加载完成
+			CacheInfo cacheInfo = cacheMap.get(key);
+			if (cacheInfo != null && !cacheInfo.isExpired(System.currentTimeMillis())) {
+				value = cacheInfo.getData();
+			} else {
+				WriteBehindQueue.PendingWrite pendingWrite = writeBehindQueue != null ? writeBehindQueue.getPending(key) : null;
+				if (pendingWrite != null) {
+					value = pendingWrite.getValue();
+				} else {
+					value = this.load(key);
+				}
+				if (value != null) {
+					this.put(key, new CacheInfo(value, defaultExpireTime, System.currentTimeMillis()), false);
+				}
+			}
+			future.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			readThroughMap.remove(key, future);
+		}
+	}
+	
+	private Object load(String key) {
+		long startTime = System.nanoTime();
+		try {
+			Object value = readThroughLoader.load(key);
+			if (value != null) {
+				statsCounter.recordLoadSuccess(System.nanoTime() - startTime);
+			} else {
+				statsCounter.recordLoadFailure(System.nanoTime() - startTime);
+			}
+			return value;
+		} catch (RuntimeException e) {
+			statsCounter.recordLoadFailure(System.nanoTime() - startTime);
+			throw e;
+		} catch (Exception e) {
+			statsCounter.recordLoadFailure(System.nanoTime() - startTime);
+			throw new IllegalStateException("Failed to load cache key: " + key, e);
+		}
+	}
+	
+	/**
+	 * 等待其它线程的加载结果，加载异常原样抛出
+	 */
+	private static Object join(CompletableFuture<Object> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+	
+	private static RuntimeException writerException(String key, Exception e) {
+		if (e instanceof RuntimeException) {
+			return (RuntimeException) e;
+		}
+		return new IllegalStateException("Failed to write cache key to the backing store: " + key, e);
+	}
+	
+	/**
+	 * 把延迟写入队列中的数据立即写入后端（未配置延迟写入时不做任何事）
+	 */
+	public void flushWrites() {
+		if (writeBehindQueue != null) {
+			writeBehindQueue.flush();
+		}
 	}
 
 	/**
@@ -65,7 +685,7 @@ public class CacheManagerImpl implements ICacheManager {
 	 */
 	@Override
 	public boolean isExistsKey(String key) {
-		return cacheMap.containsKey(key);
+		return cacheMap.containsKey(key) || (offHeapStore != null && offHeapStore.containsKey(key));
 	}
 
 	/**
@@ -73,7 +693,43 @@ public class CacheManagerImpl implements ICacheManager {
 	 */
 	@Override
 	public void removeAll() {
-		cacheMap.clear();
+		this.clear();
+		if (invalidationBus != null) {
+			invalidationBus.publish(InvalidationType.ALL, null);
+		}
+	}
+	
+	/**
+	 * 清除本地所有缓存，不发送失效通知
+	 */
+	private void clear() {
+		if (snapshotStore != null) {
+			snapshotStore.markAllDirty();
+		}
+		
+		if (evictionPolicy == null) {
+			cacheMap.clear();
+			timerWheel.clear();
+			if (keyIndex != null) {
+				keyIndex.clear();
+			}
+		} else {
+			synchronized (evictionPolicy) {
+				cacheMap.clear();
+				timerWheel.clear();
+				if (keyIndex != null) {
+					keyIndex.clear();
+				}
+				evictionPolicy.clear();
+				totalWeight = 0L;
+			}
+		}
+		
+		// 堆内清空之后再清空堆外层，清空前已被淘汰、正在转入的数据发现标记已被移除后自行删除
+		if (offHeapStore != null) {
+			spillingMap.clear();
+			offHeapStore.clear();
+		}
 	}
 
 	/**
@@ -82,8 +738,106 @@ public class CacheManagerImpl implements ICacheManager {
 	 */
 	@Override
 	public void removeByKey(String key) {
-		if (this.isExistsKey(key)) {
-			cacheMap.remove(key);
+		if (writeThroughWriter != null) {
+			try {
+				writeThroughWriter.delete(key);
+			} catch (Exception e) {
+				throw writerException(key, e);
+			}
+		}
+		
+		this.invalidate(key);
+		
+		if (writeBehindQueue != null) {
+			writeBehindQueue.enqueueDelete(key);
+		}
+		if (invalidationBus != null) {
+			invalidationBus.publishKey(key);
+		}
+	}
+	
+	/**
+	 * 清除本地的对应缓存，不发送失效通知
+	 */
+	private void invalidate(String key) {
+		this.markDirty(key);
+		
+		if (evictionPolicy == null) {
+			this.cancelExpiry(cacheMap.remove(key));
+			this.unindexKey(key);
+			return;
+		}
+		
+		synchronized (evictionPolicy) {
+			CacheInfo removed = cacheMap.remove(key);
+			if (removed != null) {
+				totalWeight -= removed.getWeight();
+				this.cancelExpiry(removed);
+				evictionPolicy.onRemove(key);
+			}
+			this.unindexKey(key);
+		}
+		// 先从堆内删除，之后不会再被淘汰；删除前已被淘汰、正在转入的数据在这里取消
+		this.removeOffHeap(key);
+	}
+	
+	/**
+	 * 清除key以prefix开头的缓存
+	 * @param prefix
+	 */
+	@Override
+	public void removeByPrefix(String prefix) {
+		for (String key : this.keysByPrefix(prefix)) {
+			this.invalidate(key);
+		}
+		if (invalidationBus != null) {
+			invalidationBus.publish(InvalidationType.PREFIX, prefix);
+		}
+	}
+	
+	/**
+	 * 清除key匹配通配符的缓存
+	 * @param pattern
+	 */
+	@Override
+	public void removeByPattern(String pattern) {
+		for (String key : this.keysByPattern(pattern)) {
+			this.invalidate(key);
+		}
+		if (invalidationBus != null) {
+			invalidationBus.publish(InvalidationType.PATTERN, pattern);
+		}
+	}
+	
+	/**
+	 * 处理其它节点发来的失效通知，只在本地删除，不再广播
+	 */
+	private void applyInvalidation(InvalidationMessage message) {
+		switch (message.getType()) {
+			case KEYS:
+				for (String key : message.getKeys()) {
+					this.invalidate(key);
+				}
+				break;
+			case PREFIX:
+				for (String prefix : message.getKeys()) {
+					for (String key : this.keysByPrefix(prefix)) {
+						this.invalidate(key);
+					}
+				}
+				break;
+			case PATTERN:
+				for (String pattern : message.getKeys()) {
+					for (String key : this.keysByPattern(pattern)) {
+						this.invalidate(key);
+					}
+				}
+				break;
+			case ALL:
+				this.clear();
+				break;
+			default:
+				break;
 		}
 	}
 
@@ -94,35 +848,83 @@ public class CacheManagerImpl implements ICacheManager {
 	 */
 	@Override
 	public boolean isExpire(String key) {
-		if (!cacheMap.containsKey(key)) {
-			return true;
+		CacheInfo cacheInfo = cacheMap.get(key);
+		if (cacheInfo == null) {
+			return offHeapStore == null || !offHeapStore.containsKey(key);
 		}
-		
-		CacheInfo cache = cacheMap.get(key);
-		long expireTime = cache.getExpireTime();
-		if (expireTime==0) {
-			return false;
+		return cacheInfo.isExpired(System.currentTimeMillis());
+	}
+
+	/**
+	 * 获取所有key
+	 * @return
+	 */
+	@Override
+	public Set<String> getAllKeys() {
+		if (offHeapStore == null) {
+			return cacheMap.keySet();
 		}
 		
-		long lastRefreshTime = cache.getLastRefeshTime();
-		if ((System.currentTimeMillis()-lastRefreshTime) >= expireTime) {
-			return true;
+		Set<String> keys = new HashSet<String>(cacheMap.keySet());
+		keys.addAll(offHeapStore.keySet());
+		return keys;
+	}
+
+	/**
+	 * 获取以prefix开头的key（启用key索引时只访问匹配的key，否则遍历全部key）
+	 * @param prefix
+	 * @return
+	 */
+	@Override
+	public Set<String> keysByPrefix(String prefix) {
+		if (keyIndex != null) {
+			return this.existingKeys(keyIndex.keysByPrefix(prefix));
 		}
 		
-		return false;
+		Set<String> keys = new TreeSet<String>();
+		for (String key : this.getAllKeys()) {
+			if (key.startsWith(prefix)) {
+				keys.add(key);
+			}
+		}
+		return keys;
 	}
-
+	
 	/**
-	 * 获取所有key
+	 * 获取匹配通配符的key（启用key索引时只访问通配符前缀范围内的key，否则遍历全部key）
+	 * @param pattern
 	 * @return
 	 */
 	@Override
-	public Set<String> getAllKeys() {
-		return cacheMap.keySet();
+	public Set<String> keysByPattern(String pattern) {
+		if (keyIndex != null) {
+			return this.existingKeys(keyIndex.keysByPattern(pattern));
+		}
+		
+		Set<String> keys = new TreeSet<String>();
+		for (String key : this.getAllKeys()) {
+			if (KeyIndex.matches(pattern, key)) {
+				keys.add(key);
+			}
+		}
+		return keys;
+	}
+	
+	/**
+	 * 过滤掉已被堆外层自行淘汰、但还留在索引中的key
+	 */
+	private Set<String> existingKeys(Collection<String> indexedKeys) {
+		Set<String> keys = new LinkedHashSet<String>();
+		for (String key : indexedKeys) {
+			if (offHeapStore == null || this.isExistsKey(key)) {
+				keys.add(key);
+			}
+		}
+		return keys;
 	}
 
 	/**
-	 * 获取所有缓存信息
+	 * 获取所有缓存信息（不含堆外层，堆外数据需按key读取）
 	 */
 	@Override
 	public Map<String, CacheInfo> getAllCacheInfos() {
@@ -134,10 +936,298 @@ public class CacheManagerImpl implements ICacheManager {
 	 */
 	@Override
 	public CacheInfo getCacheInfo(String key) {
+		CacheInfo cacheInfo = cacheMap.get(key);
+		if (cacheInfo == null && offHeapStore != null) {
+			return offHeapStore.get(key);
+		}
+		return cacheInfo;
+	}
+
+	/**
+	 * 获取统计信息
+	 */
+	@Override
+	public CacheStats getStats() {
+		long size = cacheMap.size();
+		if (offHeapStore != null) {
+			size += offHeapStore.size();
+		}
+		return statsCounter.snapshot(size);
+	}
+	
+	/**
+	 * 获取堆内数据的当前总权重（未配置最大权重时为0）
+	 * @return
+	 */
+	public long getWeightedSize() {
+		if (evictionPolicy == null) {
+			return 0L;
+		}
+		synchronized (evictionPolicy) {
+			return totalWeight;
+		}
+	}
+	
+	/**
+	 * 获取统计计数，供加载缓存记录加载次数和耗时
+	 * @return
+	 */
+	public IStatsCounter getStatsCounter() {
+		return statsCounter;
+	}
+	
+	/**
+	 * 推进过期时间轮，回收已到期的缓存（由后台任务按刻度调用）
+	 */
+	public void cleanUp() {
+		if (readBuffer != null) {
+			synchronized (drainLock) {
+				this.drainReadBufferLocked();
+			}
+		}
+		
+		long now = System.currentTimeMillis();
+		List<TimerNode> expiredNodes = timerWheel.advance(now);
+		for (TimerNode node : expiredNodes) {
+			CacheInfo cacheInfo = node.getCacheInfo();
+			if (idleTime > 0 && !cacheInfo.isExpired(now)) {
+				// 期间被读取过，按新的最后访问时间重新排期
+				this.rescheduleExpiry(node);
+				continue;
+			}
+			this.removeIfSame(node.getKey(), cacheInfo);
+		}
+	}
+	
+	/**
+	 * 把未失效的缓存写入快照（只重写有变化的分段），未配置快照时不做任何事
+	 */
+	public void snapshot() {
+		if (snapshotStore == null) {
+			return;
+		}
+		
+		try {
+			snapshotStore.write(cacheMap);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * 仅当key仍对应同一条缓存时才删除，避免误删期间重新写入的数据
+	 */
+	private void removeIfSame(String key, CacheInfo cacheInfo) {
+		if (evictionPolicy == null) {
+			if (cacheMap.remove(key, cacheInfo)) {
+				this.cancelExpiry(cacheInfo);
+				this.markDirty(key);
+				this.unindexKey(key);
+			}
+			return;
+		}
+		
+		synchronized (evictionPolicy) {
+			if (cacheMap.remove(key, cacheInfo)) {
+				totalWeight -= cacheInfo.getWeight();
+				this.cancelExpiry(cacheInfo);
+				this.markDirty(key);
+				evictionPolicy.onRemove(key);
+				this.unindexKey(key);
+			}
+		}
+	}
+	
+	/**
+	 * 提交异步刷新，读取线程直接返回旧数据
+	 */
+	private void refreshAsync(String key, CacheInfo cacheInfo) {
+		if (!refreshingKeys.add(key)) {
+			return;
+		}
+		
+		try {
+			refreshExecutor.execute(() -> this.refresh(key, cacheInfo));
+		} catch (RejectedExecutionException e) {
+			// 线程池饱和，本次不刷新，下次读取时重新提交
+			refreshingKeys.remove(key);
+		}
+	}
+	
+	private void refresh(String key, CacheInfo cacheInfo) {
+		long startTime = System.nanoTime();
+		try {
+			Object value = cacheLoader.reload(key, cacheInfo.getData());
+			if (value != null) {
+				statsCounter.recordLoadSuccess(System.nanoTime() - startTime);
+				this.replaceIfSame(key, cacheInfo, new CacheInfo(value, cacheInfo.getExpireTime(), System.currentTimeMillis()));
+			} else {
+				statsCounter.recordLoadFailure(System.nanoTime() - startTime);
+			}
+		} catch (Exception e) {
+			statsCounter.recordLoadFailure(System.nanoTime() - startTime);
+			// 刷新失败时保留旧数据，下次读取会再次尝试
+			e.printStackTrace();
+		} finally {
+			refreshingKeys.remove(key);
+		}
+	}
+	
+	/**
+	 * 仅当key仍对应同一条缓存时才替换，刷新期间被覆盖或删除的数据不受影响
+	 */
+	private void replaceIfSame(String key, CacheInfo oldCacheInfo, CacheInfo newCacheInfo) {
+		if (idleTime > 0) {
+			newCacheInfo.setIdleTime(idleTime);
+		}
+		
+		if (evictionPolicy == null) {
+			if (cacheMap.replace(key, oldCacheInfo, newCacheInfo)) {
+				this.cancelExpiry(oldCacheInfo);
+				this.scheduleExpiry(key, newCacheInfo);
+				this.markDirty(key);
+			}
+			return;
+		}
+		
+		if (weigher != null) {
+			newCacheInfo.setWeight(weigher.weigh(key, newCacheInfo.getData()));
+		}
+		
+		synchronized (evictionPolicy) {
+			if (cacheMap.replace(key, oldCacheInfo, newCacheInfo)) {
+				totalWeight += newCacheInfo.getWeight() - oldCacheInfo.getWeight();
+				this.cancelExpiry(oldCacheInfo);
+				this.scheduleExpiry(key, newCacheInfo);
+				this.markDirty(key);
+			}
+		}
+	}
+	
+	private void indexKey(String key) {
+		if (keyIndex != null) {
+			keyIndex.add(key);
+		}
+	}
+	
+	/**
+	 * 从索引中删除key；并发写入使key仍然存在时补回
+	 */
+	private void unindexKey(String key) {
+		if (keyIndex == null) {
+			return;
+		}
+		
+		keyIndex.remove(key);
 		if (this.isExistsKey(key)) {
-			return cacheMap.get(key);
+			keyIndex.add(key);
+		}
+	}
+	
+	private void markDirty(String key) {
+		if (snapshotStore != null) {
+			snapshotStore.markDirty(key);
+		}
+	}
+	
+	private void scheduleExpiry(String key, CacheInfo cacheInfo) {
+		if (cacheInfo.getExpireTime() <= 0 && cacheInfo.getIdleTime() <= 0) {
+			return;
+		}
+		
+		TimerNode node = new TimerNode(key, cacheInfo);
+		cacheInfo.setTimerNode(node);
+		timerWheel.schedule(node, cacheInfo.getExpireAt());
+	}
+	
+	/**
+	 * 仍是当前有效的定时节点时，按最新的失效时间点重新放入时间轮
+	 */
+	private void rescheduleExpiry(TimerNode node) {
+		CacheInfo cacheInfo = node.getCacheInfo();
+		synchronized (drainLock) {
+			if (cacheMap.get(node.getKey()) == cacheInfo && cacheInfo.getTimerNode() == node) {
+				timerWheel.schedule(node, cacheInfo.getExpireAt());
+			}
+		}
+	}
+	
+	/**
+	 * 看起来已空闲超时的缓存，可能还有未处理的读取记录，处理后再判断一次
+	 */
+	private boolean isExpiredAfterDrain(CacheInfo cacheInfo, long now) {
+		if (idleTime <= 0 || cacheInfo.isExpiredAfterWrite(now)) {
+			return true;
+		}
+		
+		synchronized (drainLock) {
+			this.drainReadBufferLocked();
+		}
+		return cacheInfo.isExpired(now);
+	}
+	
+	/**
+	 * 没有其它线程在处理时，批量处理读取记录
+	 */
+	private void tryDrainReadBuffer() {
+		if (!draining.compareAndSet(false, true)) {
+			return;
+		}
+		
+		try {
+			synchronized (drainLock) {
+				this.drainReadBufferLocked();
+			}
+		} finally {
+			draining.set(false);
+		}
+	}
+	
+	/**
+	 * 批量处理读取记录：交给淘汰策略，并更新最后访问时间（在drainLock锁内调用）
+	 */
+	private void drainReadBufferLocked() {
+		if (readBuffer == null) {
+			return;
+		}
+		
+		long now = idleTime > 0 ? System.currentTimeMillis() : 0L;
+		readBuffer.drainTo(key -> {
+			if (evictionPolicy != null) {
+				evictionPolicy.onAccess(key);
+			}
+			if (idleTime > 0) {
+				CacheInfo cacheInfo = cacheMap.get(key);
+				if (cacheInfo != null) {
+					cacheInfo.setLastAccessTime(now);
+				}
+			}
+		});
+	}
+	
+	private void cancelExpiry(CacheInfo cacheInfo) {
+		if (cacheInfo != null && cacheInfo.getTimerNode() != null) {
+			timerWheel.cancel(cacheInfo.getTimerNode());
+		}
+	}
+	
+	/**
+	 * 进程退出钩子，只持有缓存实例的弱引用，缓存实例不会因为注册了钩子而无法回收
+	 */
+	private static class ShutdownHook implements Runnable {
+		private final WeakReference<CacheManagerImpl> cacheManagerRef;
+		
+		ShutdownHook(CacheManagerImpl cacheManagerImpl) {
+			this.cacheManagerRef = new WeakReference<CacheManagerImpl>(cacheManagerImpl);
+		}
+		
+		@Override
+		public void run() {
+			CacheManagerImpl cacheManagerImpl = cacheManagerRef.get();
+			if (cacheManagerImpl != null && !cacheManagerImpl.closed.get()) {
+				cacheManagerImpl.flushOnClose();
+			}
 		}
-		return null;
 	}
 	
 }
@@ -1,5 +1,7 @@
 package cn.javaex.htool.cache.model;
 
+import cn.javaex.htool.cache.task.TimerNode;
+
 /**
  * 缓存信息
  *
@@ -19,11 +21,28 @@ public class CacheInfo {
      * 最后刷新时间
      */
     private long lastRefeshTime;
+    /**
+     * 空闲失效时间：单位（毫秒）（0表示不按空闲时间失效）
+     */
+    private long idleTime;
+    /**
+     * 最后访问时间（读取记录批量处理时更新，比实际访问时间略晚）
+     */
+    private volatile long lastAccessTime;
+    /**
+     * 过期时间轮中的定时节点（永不失效时为null）
+     */
+    private TimerNode timerNode;
+    /**
+     * 权重（未配置最大权重时为0）
+     */
+    private int weight;
 
     public CacheInfo(Object data, long expireTime, long lastRefeshTime) {
         this.data = data;
         this.expireTime = expireTime;
         this.lastRefeshTime = lastRefeshTime;
+        this.lastAccessTime = lastRefeshTime;
     }
 
     public Object getData() {
@@ -50,6 +69,68 @@ public class CacheInfo {
         this.lastRefeshTime = lastRefeshTime;
     }
 
+    public long getIdleTime() {
+        return idleTime;
+    }
+
+    public void setIdleTime(long idleTime) {
+        this.idleTime = idleTime;
+    }
+
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    public void setLastAccessTime(long lastAccessTime) {
+        this.lastAccessTime = lastAccessTime;
+    }
+
+    /**
+     * 判断是否已失效（true表示已失效），写入后超时或空闲超时都算失效
+     * @param now : 当前时间戳（毫秒）
+     * @return
+     */
+    public boolean isExpired(long now) {
+        return this.isExpiredAfterWrite(now) || (idleTime != 0 && (now - lastAccessTime) >= idleTime);
+    }
+
+    /**
+     * 判断是否已写入后超时
+     * @param now : 当前时间戳（毫秒）
+     * @return
+     */
+    public boolean isExpiredAfterWrite(long now) {
+        return expireTime != 0 && (now - lastRefeshTime) >= expireTime;
+    }
+
+    /**
+     * 计算失效时间点
+     * @return 永不失效时返回Long.MAX_VALUE
+     */
+    public long getExpireAt() {
+        long expireAt = expireTime > 0 ? lastRefeshTime + expireTime : Long.MAX_VALUE;
+        if (idleTime > 0) {
+            expireAt = Math.min(expireAt, lastAccessTime + idleTime);
+        }
+        return expireAt;
+    }
+
+    public TimerNode getTimerNode() {
+        return timerNode;
+    }
+
+    public void setTimerNode(TimerNode timerNode) {
+        this.timerNode = timerNode;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
     @Override
     public String toString() {
         return "CacheInfo [data=" + data + ", expireTime=" + expireTime + ", lastRefeshTime=" + lastRefeshTime + "]";
@@ -0,0 +1,128 @@
+package cn.javaex.htool.cache.model;
+
+/**
+ * 缓存统计信息（快照）
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class CacheStats {
+    /**
+     * 命中次数
+     */
+    private final long hitCount;
+    /**
+     * 未命中次数
+     */
+    private final long missCount;
+    /**
+     * 加载成功次数
+     */
+    private final long loadSuccessCount;
+    /**
+     * 加载失败次数（异常或没有数据）
+     */
+    private final long loadFailureCount;
+    /**
+     * 加载总耗时：单位（纳秒）
+     */
+    private final long totalLoadTime;
+    /**
+     * 因容量超限被淘汰的次数
+     */
+    private final long evictionCount;
+    /**
+     * 当前条目数
+     */
+    private final long size;
+
+    public CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount, long totalLoadTime,
+            long evictionCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 请求总次数
+     * @return
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * 命中率（没有请求时为1.0）
+     * @return
+     */
+    public double getHitRate() {
+        long requestCount = this.getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * 未命中率（没有请求时为0.0）
+     * @return
+     */
+    public double getMissRate() {
+        long requestCount = this.getRequestCount();
+        return requestCount == 0 ? 0.0 : (double) missCount / requestCount;
+    }
+
+    /**
+     * 加载总次数
+     * @return
+     */
+    public long getLoadCount() {
+        return loadSuccessCount + loadFailureCount;
+    }
+
+    /**
+     * 平均加载耗时：单位（纳秒）
+     * @return
+     */
+    public double getAverageLoadPenalty() {
+        long loadCount = this.getLoadCount();
+        return loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats [hitCount=" + hitCount + ", missCount=" + missCount + ", loadSuccessCount=" + loadSuccessCount
+                + ", loadFailureCount=" + loadFailureCount + ", totalLoadTime=" + totalLoadTime + ", evictionCount="
+                + evictionCount + ", size=" + size + ", hitRate=" + this.getHitRate() + "]";
+    }
+
+}
@@ -0,0 +1,447 @@
+package cn.javaex.htool.cache.offheap;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import cn.javaex.htool.cache.model.CacheInfo;
+import cn.javaex.htool.cache.serializer.ISerializer;
+
+/**
+ * 堆外缓存存储
+ * <p>
+ * 数据序列化后存放在直接内存或内存映射文件中，不占用Java堆，也不参与GC扫描。
+ * 内存按1MB的页分配，每页归属一个块大小级别（64字节起，按1.25倍递增），
+ * 同一级别的块复用空闲链表，内存用尽时在该级别内按LRU淘汰。
+ * 超过1MB的数据不会被存入。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class OffHeapStore implements Closeable {
+	
+	/**
+	 * 页大小，也是单条数据的最大字节数
+	 */
+	public static final int PAGE_SIZE = 1 << 20;
+	private static final int MIN_CHUNK_SIZE = 64;
+	private static final double GROWTH_FACTOR = 1.25;
+	/**
+	 * 每次向系统申请的区域最多包含的页数（256MB）
+	 */
+	private static final int REGION_PAGES = 256;
+	
+	private final ISerializer serializer;
+	private final int maxPages;
+	private final RandomAccessFile file;
+	private final FileChannel fileChannel;
+	
+	private final int[] chunkSizes;
+	private final SlabClass[] slabClasses;
+	private final ConcurrentMap<String, Slot> index = new ConcurrentHashMap<String, Slot>();
+	private final LongAdder evictionCount = new LongAdder();
+	
+	/**
+	 * 已分配的页数和当前正在切分的区域，由this加锁保护
+	 */
+	private int pageCount;
+	private ByteBuffer currentRegion;
+	
+	/**
+	 * 使用直接内存
+	 * @param capacity : 最大字节数
+	 * @param serializer : 序列化方式
+	 */
+	public OffHeapStore(long capacity, ISerializer serializer) {
+		this(capacity, serializer, null);
+	}
+	
+	/**
+	 * 使用内存映射文件（file为null时使用直接内存）
+	 * @param capacity : 最大字节数
+	 * @param serializer : 序列化方式
+	 * @param mappedFile : 映射文件，已存在时内容会被覆盖
+	 */
+	public OffHeapStore(long capacity, ISerializer serializer, File mappedFile) {
+		if (capacity < PAGE_SIZE) {
+			throw new IllegalArgumentException("Off-heap capacity must be at least " + PAGE_SIZE + " bytes");
+		}
+		if (serializer == null) {
+			throw new IllegalArgumentException("serializer must not be null");
+		}
+		
+		this.serializer = serializer;
+		this.maxPages = (int) Math.min(capacity / PAGE_SIZE, Integer.MAX_VALUE);
+		
+		if (mappedFile == null) {
+			this.file = null;
+			this.fileChannel = null;
+		} else {
+			try {
+				this.file = new RandomAccessFile(mappedFile, "rw");
+				this.fileChannel = file.getChannel();
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Cannot open off-heap file: '" + mappedFile + "'", e);
+			}
+		}
+		
+		List<Integer> sizes = new ArrayList<Integer>();
+		int size = MIN_CHUNK_SIZE;
+		while (size < PAGE_SIZE) {
+			sizes.add(size);
+			size = Math.max(size + 8, (int) (size * GROWTH_FACTOR) + 7 & ~7);
+		}
+		sizes.add(PAGE_SIZE);
+		
+		this.chunkSizes = new int[sizes.size()];
+		this.slabClasses = new SlabClass[sizes.size()];
+		for (int i = 0; i < chunkSizes.length; i++) {
+			chunkSizes[i] = sizes.get(i);
+			slabClasses[i] = new SlabClass(chunkSizes[i]);
+		}
+	}
+	
+	/**
+	 * 写入
+	 * @param key
+	 * @param cacheInfo
+	 * @return 数据过大或当前级别没有可用空间时返回false
+	 * @throws IllegalArgumentException 数据不支持序列化时
+	 */
+	public boolean put(String key, CacheInfo cacheInfo) {
+		byte[] bytes = serializer.serialize(cacheInfo.getData());
+		int classId = this.classFor(bytes.length);
+		if (classId < 0) {
+			return false;
+		}
+		
+		SlabClass slabClass = slabClasses[classId];
+		Slot old;
+		slabClass.lock.lock();
+		try {
+			Chunk chunk = slabClass.allocate();
+			if (chunk == null) {
+				return false;
+			}
+			
+			chunk.page.position(chunk.offset);
+			chunk.page.put(bytes);
+			
+			Slot slot = new Slot(classId, chunk, bytes.length, cacheInfo.getExpireTime(), cacheInfo.getLastRefeshTime());
+			old = index.put(key, slot);
+			slabClass.lru.put(key, slot);
+			if (old != null && old.classId == classId) {
+				slabClass.freeChunks.push(old.chunk);
+				old = null;
+			}
+		} finally {
+			slabClass.lock.unlock();
+		}
+		
+		if (old != null) {
+			this.free(key, old);
+		}
+		return true;
+	}
+	
+	/**
+	 * 读取
+	 * @param key
+	 * @return 不存在或已失效时返回null
+	 */
+	public CacheInfo get(String key) {
+		return this.read(key, false);
+	}
+	
+	/**
+	 * 读取并删除
+	 * @param key
+	 * @return 不存在或已失效时返回null
+	 */
+	public CacheInfo take(String key) {
+		return this.read(key, true);
+	}
+	
+	/**
+	 * 删除
+	 * @param key
+	 * @return
+	 */
+	public boolean remove(String key) {
+		Slot old = index.remove(key);
+		if (old == null) {
+			return false;
+		}
+		
+		this.free(key, old);
+		return true;
+	}
+	
+	/**
+	 * 是否存在未失效的数据
+	 * @param key
+	 * @return
+	 */
+	public boolean containsKey(String key) {
+		Slot slot = index.get(key);
+		return slot != null && !slot.isExpired(System.currentTimeMillis());
+	}
+	
+	/**
+	 * 清空（已申请的内存不归还，留给后续写入复用）
+	 */
+	public void clear() {
+		for (String key : index.keySet()) {
+			this.remove(key);
+		}
+	}
+	
+	public Set<String> keySet() {
+		return index.keySet();
+	}
+	
+	public int size() {
+		return index.size();
+	}
+	
+	/**
+	 * 已申请的堆外内存字节数
+	 * @return
+	 */
+	public synchronized long getAllocatedBytes() {
+		return (long) pageCount * PAGE_SIZE;
+	}
+	
+	/**
+	 * 因空间不足被淘汰的条数
+	 * @return
+	 */
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		if (file != null) {
+			file.close();
+		}
+	}
+	
+	private CacheInfo read(String key, boolean remove) {
+		for (;;) {
+			Slot slot = index.get(key);
+			if (slot == null) {
+				return null;
+			}
+			
+			SlabClass slabClass = slabClasses[slot.classId];
+			byte[] bytes;
+			slabClass.lock.lock();
+			try {
+				// 加锁前该位置可能已被覆盖并回收，重新读取
+				if (index.get(key) != slot) {
+					continue;
+				}
+				
+				boolean expired = slot.isExpired(System.currentTimeMillis());
+				if (!expired) {
+					bytes = new byte[slot.length];
+					slot.chunk.page.position(slot.chunk.offset);
+					slot.chunk.page.get(bytes);
+				} else {
+					bytes = null;
+				}
+				
+				if (expired || remove) {
+					// 只有从索引中移除成功的一方负责回收，避免与并发覆盖重复回收
+					if (index.remove(key, slot)) {
+						slabClass.lru.remove(key, slot);
+						slabClass.freeChunks.push(slot.chunk);
+					} else if (remove) {
+						bytes = null;
+					}
+				} else {
+					slabClass.lru.get(key);
+				}
+			} finally {
+				slabClass.lock.unlock();
+			}
+			
+			if (bytes == null) {
+				return null;
+			}
+			return new CacheInfo(serializer.deserialize(bytes, 0, bytes.length), slot.expireTime, slot.lastRefreshTime);
+		}
+	}
+	
+	/**
+	 * 回收已从索引中移除的位置
+	 */
+	private void free(String key, Slot slot) {
+		SlabClass slabClass = slabClasses[slot.classId];
+		slabClass.lock.lock();
+		try {
+			slabClass.lru.remove(key, slot);
+			slabClass.freeChunks.push(slot.chunk);
+		} finally {
+			slabClass.lock.unlock();
+		}
+	}
+	
+	private int classFor(int length) {
+		if (length > PAGE_SIZE) {
+			return -1;
+		}
+		
+		int low = 0;
+		int high = chunkSizes.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (chunkSizes[mid] < length) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * 申请一个新页，达到容量上限时返回null
+	 */
+	private synchronized ByteBuffer allocatePage() {
+		if (pageCount >= maxPages) {
+			return null;
+		}
+		
+		if (currentRegion == null || !currentRegion.hasRemaining()) {
+			int pages = Math.min(REGION_PAGES, maxPages - pageCount);
+			currentRegion = this.newRegion((long) pageCount * PAGE_SIZE, pages * PAGE_SIZE);
+		}
+		
+		int position = currentRegion.position();
+		currentRegion.limit(position + PAGE_SIZE);
+		ByteBuffer page = currentRegion.slice();
+		currentRegion.limit(currentRegion.capacity());
+		currentRegion.position(position + PAGE_SIZE);
+		
+		pageCount++;
+		return page;
+	}
+	
+	private ByteBuffer newRegion(long offset, int size) {
+		if (fileChannel == null) {
+			return ByteBuffer.allocateDirect(size);
+		}
+		
+		try {
+			return fileChannel.map(FileChannel.MapMode.READ_WRITE, offset, size);
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot map off-heap file region", e);
+		}
+	}
+	
+	/**
+	 * 页内的一个块
+	 */
+	private static class Chunk {
+		final ByteBuffer page;
+		final int offset;
+		
+		Chunk(ByteBuffer page, int offset) {
+			this.page = page;
+			this.offset = offset;
+		}
+	}
+	
+	/**
+	 * 一条数据的存放位置
+	 */
+	private static class Slot {
+		final int classId;
+		final Chunk chunk;
+		final int length;
+		final long expireTime;
+		final long lastRefreshTime;
+		
+		Slot(int classId, Chunk chunk, int length, long expireTime, long lastRefreshTime) {
+			this.classId = classId;
+			this.chunk = chunk;
+			this.length = length;
+			this.expireTime = expireTime;
+			this.lastRefreshTime = lastRefreshTime;
+		}
+		
+		boolean isExpired(long now) {
+			return expireTime != 0 && (now - lastRefreshTime) >= expireTime;
+		}
+	}
+	
+	/**
+	 * 同一块大小级别的页、空闲块和LRU顺序，由lock保护
+	 */
+	private class SlabClass {
+		final int chunkSize;
+		final ReentrantLock lock = new ReentrantLock();
+		final ArrayDeque<Chunk> freeChunks = new ArrayDeque<Chunk>();
+		final LinkedHashMap<String, Slot> lru = new LinkedHashMap<String, Slot>(16, 0.75f, true);
+		ByteBuffer page;
+		int carveOffset;
+		
+		SlabClass(int chunkSize) {
+			this.chunkSize = chunkSize;
+		}
+		
+		Chunk allocate() {
+			Chunk chunk = freeChunks.poll();
+			if (chunk != null) {
+				return chunk;
+			}
+			
+			if (page == null || carveOffset + chunkSize > PAGE_SIZE) {
+				ByteBuffer newPage = allocatePage();
+				if (newPage == null) {
+					return this.evict();
+				}
+				page = newPage;
+				carveOffset = 0;
+			}
+			
+			chunk = new Chunk(page, carveOffset);
+			carveOffset += chunkSize;
+			return chunk;
+		}
+		
+		/**
+		 * 淘汰本级别最久未访问的数据，复用其位置
+		 */
+		Chunk evict() {
+			Iterator<Map.Entry<String, Slot>> iterator = lru.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<String, Slot> entry = iterator.next();
+				// 已被覆盖的位置由覆盖方负责回收，这里跳过
+				if (index.remove(entry.getKey(), entry.getValue())) {
+					iterator.remove();
+					evictionCount.increment();
+					return entry.getValue().chunk;
+				}
+			}
+			return null;
+		}
+	}
+	
+}
@@ -0,0 +1,266 @@
+package cn.javaex.htool.cache.persist;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BiConsumer;
+
+import cn.javaex.htool.cache.model.CacheInfo;
+import cn.javaex.htool.cache.serializer.ISerializer;
+
+/**
+ * 缓存快照存储
+ * <p>
+ * key按哈希分到16个分段，每个分段一个文件。写入时只重写自上次快照以来有变化的分段，
+ * 先写临时文件再原子替换，写到一半宕机不会损坏已有快照。
+ * 读取时各分段文件整体读入内存后并行解析（不使用内存映射，映射会占用文件，Windows上无法再替换），已失效的数据直接跳过。
+ * 打开时删除上次宕机遗留的临时文件。
+ * <p>
+ * 分段文件格式：魔数、版本号，之后每条记录为
+ * [key长度][key][过期时间][最后刷新时间][数据长度][数据]，以key长度-1结束。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class SnapshotStore {
+	
+	private static final int SEGMENTS = 16;
+	private static final int MAGIC = 0x48544353;
+	private static final int VERSION = 1;
+	private static final int END_OF_SEGMENT = -1;
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".snap";
+	private static final String TEMP_SUFFIX = SEGMENT_SUFFIX + ".tmp";
+	
+	private final File directory;
+	private final ISerializer serializer;
+	/**
+	 * 有变化的分段（1表示需要重写）
+	 */
+	private final AtomicIntegerArray dirtySegments = new AtomicIntegerArray(SEGMENTS);
+	
+	/**
+	 * @param directory : 快照目录，不存在时自动创建
+	 * @param serializer : 序列化方式
+	 */
+	public SnapshotStore(File directory, ISerializer serializer) {
+		if (!directory.exists() && !directory.mkdirs()) {
+			throw new IllegalArgumentException("Cannot create snapshot directory: '" + directory + "'");
+		}
+		if (!directory.isDirectory()) {
+			throw new IllegalArgumentException("Parameter is not a directory: '" + directory + "'");
+		}
+		
+		this.directory = directory;
+		this.serializer = serializer;
+		this.deleteTempFiles();
+	}
+	
+	/**
+	 * 删除写快照时宕机遗留的临时文件
+	 */
+	private void deleteTempFiles() {
+		File[] tempFiles = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(TEMP_SUFFIX));
+		if (tempFiles == null) {
+			return;
+		}
+		for (File tempFile : tempFiles) {
+			tempFile.delete();
+		}
+	}
+	
+	/**
+	 * 标记key所在分段有变化
+	 * @param key
+	 */
+	public void markDirty(String key) {
+		int segment = segmentOf(key);
+		// 先读后写，已标记时不产生写操作
+		if (dirtySegments.get(segment) == 0) {
+			dirtySegments.set(segment, 1);
+		}
+	}
+	
+	/**
+	 * 标记所有分段有变化
+	 */
+	public void markAllDirty() {
+		for (int i = 0; i < SEGMENTS; i++) {
+			dirtySegments.set(i, 1);
+		}
+	}
+	
+	/**
+	 * 清除变化标记
+	 */
+	public void clearDirty() {
+		for (int i = 0; i < SEGMENTS; i++) {
+			dirtySegments.set(i, 0);
+		}
+	}
+	
+	/**
+	 * 把有变化的分段写入磁盘
+	 * @param cacheMap : 当前缓存
+	 * @throws IOException
+	 */
+	public synchronized void write(Map<String, CacheInfo> cacheMap) throws IOException {
+		boolean[] dirty = new boolean[SEGMENTS];
+		boolean anyDirty = false;
+		for (int i = 0; i < SEGMENTS; i++) {
+			dirty[i] = dirtySegments.getAndSet(i, 0) == 1;
+			anyDirty |= dirty[i];
+		}
+		if (!anyDirty) {
+			return;
+		}
+		
+		DataOutputStream[] outs = new DataOutputStream[SEGMENTS];
+		File[] tempFiles = new File[SEGMENTS];
+		try {
+			for (int i = 0; i < SEGMENTS; i++) {
+				if (dirty[i]) {
+					tempFiles[i] = File.createTempFile(SEGMENT_PREFIX + i + "-", TEMP_SUFFIX, directory);
+					outs[i] = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFiles[i]), 64 * 1024));
+					outs[i].writeInt(MAGIC);
+					outs[i].writeInt(VERSION);
+				}
+			}
+			
+			long now = System.currentTimeMillis();
+			for (Map.Entry<String, CacheInfo> entry : cacheMap.entrySet()) {
+				String key = entry.getKey();
+				DataOutputStream out = outs[segmentOf(key)];
+				CacheInfo cacheInfo = entry.getValue();
+				if (out == null || cacheInfo.getData() == null || cacheInfo.isExpired(now)) {
+					continue;
+				}
+				
+				byte[] value;
+				try {
+					value = serializer.serialize(cacheInfo.getData());
+				} catch (IllegalArgumentException e) {
+					// 不支持序列化的数据不写入快照
+					continue;
+				}
+				
+				byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(keyBytes.length);
+				out.write(keyBytes);
+				out.writeLong(cacheInfo.getExpireTime());
+				out.writeLong(cacheInfo.getLastRefeshTime());
+				out.writeInt(value.length);
+				out.write(value);
+			}
+			
+			for (int i = 0; i < SEGMENTS; i++) {
+				if (outs[i] != null) {
+					outs[i].writeInt(END_OF_SEGMENT);
+					outs[i].close();
+					outs[i] = null;
+					Files.move(tempFiles[i].toPath(), this.segmentFile(i).toPath(),
+							StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+					tempFiles[i] = null;
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			// 写入失败的分段下次重试
+			for (int i = 0; i < SEGMENTS; i++) {
+				if (dirty[i]) {
+					dirtySegments.set(i, 1);
+				}
+			}
+			throw e;
+		} finally {
+			for (int i = 0; i < SEGMENTS; i++) {
+				if (outs[i] != null) {
+					try {
+						outs[i].close();
+					} catch (IOException e) {
+						// ignore
+					}
+				}
+				if (tempFiles[i] != null) {
+					tempFiles[i].delete();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * 并行读取所有分段，跳过已失效的数据
+	 * @param consumer : 接收key和缓存信息，会被多个线程同时调用
+	 */
+	public void load(BiConsumer<String, CacheInfo> consumer) {
+		File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+		if (files == null || files.length == 0) {
+			return;
+		}
+		
+		long now = System.currentTimeMillis();
+		Arrays.stream(files).parallel().forEach(file -> this.loadSegment(file, consumer, now));
+	}
+	
+	private void loadSegment(File file, BiConsumer<String, CacheInfo> consumer, long now) {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("Snapshot segment is too large: " + file);
+			}
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+				// 读满或读到文件末尾
+			}
+			buffer.flip();
+			if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				return;
+			}
+			
+			int keyLength;
+			while ((keyLength = buffer.getInt()) != END_OF_SEGMENT) {
+				String key = readString(buffer, keyLength);
+				long expireTime = buffer.getLong();
+				long lastRefreshTime = buffer.getLong();
+				int valueLength = buffer.getInt();
+				
+				if (expireTime != 0 && (now - lastRefreshTime) >= expireTime) {
+					buffer.position(buffer.position() + valueLength);
+					continue;
+				}
+				
+				byte[] value = new byte[valueLength];
+				buffer.get(value);
+				consumer.accept(key, new CacheInfo(serializer.deserialize(value, 0, valueLength), expireTime, lastRefreshTime));
+			}
+		} catch (IOException | RuntimeException e) {
+			// 损坏的分段只丢弃其中剩余的数据
+			e.printStackTrace();
+		}
+	}
+	
+	private static String readString(ByteBuffer buffer, int length) {
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	private static int segmentOf(String key) {
+		return (key.hashCode() & 0x7fffffff) % SEGMENTS;
+	}
+	
+	private File segmentFile(int segment) {
+		return new File(directory, SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+	}
+	
+}
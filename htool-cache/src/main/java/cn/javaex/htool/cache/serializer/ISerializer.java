@@ -0,0 +1,28 @@
+package cn.javaex.htool.cache.serializer;
+
+/**
+ * 缓存数据序列化接口
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public interface ISerializer {
+
+	/**
+	 * 序列化
+	 * @param data : 缓存数据
+	 * @return
+	 * @throws IllegalArgumentException 数据不支持序列化时
+	 */
+	byte[] serialize(Object data);
+	
+	/**
+	 * 反序列化
+	 * @param bytes
+	 * @param offset
+	 * @param length
+	 * @return
+	 */
+	Object deserialize(byte[] bytes, int offset, int length);
+	
+}
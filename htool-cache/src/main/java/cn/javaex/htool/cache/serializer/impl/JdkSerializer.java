@@ -0,0 +1,44 @@
+package cn.javaex.htool.cache.serializer.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import cn.javaex.htool.cache.serializer.ISerializer;
+
+/**
+ * JDK自带的序列化，数据必须实现Serializable
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class JdkSerializer implements ISerializer {
+
+	@Override
+	public byte[] serialize(Object data) {
+		if (!(data instanceof Serializable)) {
+			throw new IllegalArgumentException("Data is not serializable: " + (data == null ? null : data.getClass().getName()));
+		}
+		
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(256);
+		try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+			oos.writeObject(data);
+		} catch (IOException e) {
+			throw new IllegalArgumentException(e);
+		}
+		return baos.toByteArray();
+	}
+
+	@Override
+	public Object deserialize(byte[] bytes, int offset, int length) {
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes, offset, length))) {
+			return ois.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+}
@@ -0,0 +1,47 @@
+package cn.javaex.htool.cache.stats;
+
+import cn.javaex.htool.cache.model.CacheStats;
+
+/**
+ * 缓存统计计数接口
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public interface IStatsCounter {
+
+	/**
+	 * 记录命中
+	 */
+	void recordHit();
+	
+	/**
+	 * 记录未命中
+	 */
+	void recordMiss();
+	
+	/**
+	 * 记录一次加载成功
+	 * @param loadTime : 加载耗时，单位（纳秒）
+	 */
+	void recordLoadSuccess(long loadTime);
+	
+	/**
+	 * 记录一次加载失败（异常或没有数据）
+	 * @param loadTime : 加载耗时，单位（纳秒）
+	 */
+	void recordLoadFailure(long loadTime);
+	
+	/**
+	 * 记录一次容量淘汰
+	 */
+	void recordEviction();
+	
+	/**
+	 * 生成统计快照
+	 * @param size : 当前条目数
+	 * @return
+	 */
+	CacheStats snapshot(long size);
+	
+}
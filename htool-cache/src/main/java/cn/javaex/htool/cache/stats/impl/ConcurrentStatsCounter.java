@@ -0,0 +1,56 @@
+package cn.javaex.htool.cache.stats.impl;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import cn.javaex.htool.cache.model.CacheStats;
+import cn.javaex.htool.cache.stats.IStatsCounter;
+
+/**
+ * 基于LongAdder的统计计数，多线程同时记录时分散到不同的计数单元，开销很小
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class ConcurrentStatsCounter implements IStatsCounter {
+	
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder loadSuccessCount = new LongAdder();
+	private final LongAdder loadFailureCount = new LongAdder();
+	private final LongAdder totalLoadTime = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	@Override
+	public void recordHit() {
+		hitCount.increment();
+	}
+
+	@Override
+	public void recordMiss() {
+		missCount.increment();
+	}
+
+	@Override
+	public void recordLoadSuccess(long loadTime) {
+		loadSuccessCount.increment();
+		totalLoadTime.add(loadTime);
+	}
+
+	@Override
+	public void recordLoadFailure(long loadTime) {
+		loadFailureCount.increment();
+		totalLoadTime.add(loadTime);
+	}
+
+	@Override
+	public void recordEviction() {
+		evictionCount.increment();
+	}
+
+	@Override
+	public CacheStats snapshot(long size) {
+		return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+				totalLoadTime.sum(), evictionCount.sum(), size);
+	}
+	
+}
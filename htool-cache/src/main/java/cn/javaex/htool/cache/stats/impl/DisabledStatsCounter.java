@@ -0,0 +1,41 @@
+package cn.javaex.htool.cache.stats.impl;
+
+import cn.javaex.htool.cache.model.CacheStats;
+import cn.javaex.htool.cache.stats.IStatsCounter;
+
+/**
+ * 不做任何记录的统计计数，快照中只有条目数
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class DisabledStatsCounter implements IStatsCounter {
+	
+	public static final DisabledStatsCounter INSTANCE = new DisabledStatsCounter();
+
+	@Override
+	public void recordHit() {
+	}
+
+	@Override
+	public void recordMiss() {
+	}
+
+	@Override
+	public void recordLoadSuccess(long loadTime) {
+	}
+
+	@Override
+	public void recordLoadFailure(long loadTime) {
+	}
+
+	@Override
+	public void recordEviction() {
+	}
+
+	@Override
+	public CacheStats snapshot(long size) {
+		return new CacheStats(0L, 0L, 0L, 0L, 0L, 0L, size);
+	}
+	
+}
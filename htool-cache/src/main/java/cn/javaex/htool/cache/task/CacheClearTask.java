@@ -1,41 +1,65 @@
 package cn.javaex.htool.cache.task;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import cn.javaex.htool.cache.manager.impl.CacheManagerImpl;
 
 /**
  * 自动清理缓存
+ * <p>
+ * 按时间轮的刻度定时推进，只回收已到期的缓存，不再遍历全部key。
+ * 所有缓存实例共用 {@link CacheExecutors#getScheduler()} 的后台守护线程。
  * 
  * @author 陈霓清
  * @Date 2022年11月25日
  */
 public class CacheClearTask {
 	
-	private CacheManagerImpl cacheManagerImpl;
+	/**
+	 * 弱引用，缓存实例被回收后任务自动停止
+	 */
+	private final WeakReference<CacheManagerImpl> cacheManagerRef;
+	private final long tickMillis;
+	private volatile ScheduledFuture<?> future;
 	
-	public CacheClearTask(CacheManagerImpl cacheManagerImpl) {
-		this.cacheManagerImpl = cacheManagerImpl;
+	public CacheClearTask(CacheManagerImpl cacheManagerImpl, long tickMillis) {
+		this.cacheManagerRef = new WeakReference<CacheManagerImpl>(cacheManagerImpl);
+		this.tickMillis = tickMillis;
 	}
 
 	/**
-	 * 删除过期缓存（每隔5分钟循环检测一次）
+	 * 删除过期缓存（每个刻度推进一次时间轮）
 	 */
 	public void clearSchedule() {
-		new Timer().schedule(new TimerTask() { 
-			@Override
-			public void run() { 
-				this.refresh();
-			}
-			
-			private void refresh() {
-				for (String key : CacheManagerImpl.cacheMap.keySet()) { 
-					if (cacheManagerImpl.isExpire(key)) { 
-						cacheManagerImpl.removeByKey(key);
-					}
-				}
+		future = CacheExecutors.getScheduler().scheduleAtFixedRate(this::refresh, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * 停止定时任务
+	 */
+	public void cancel() {
+		if (future != null) {
+			future.cancel(false);
+		}
+	}
+	
+	private void refresh() {
+		CacheManagerImpl cacheManagerImpl = cacheManagerRef.get();
+		if (cacheManagerImpl == null) {
+			if (future != null) {
+				future.cancel(false);
 			}
-		}, 0, 300000);
+			return;
+		}
+		
+		try {
+			cacheManagerImpl.cleanUp();
+		} catch (Throwable e) {
+			// 不能让异常终止定时任务
+			e.printStackTrace();
+		}
 	}
+	
 }
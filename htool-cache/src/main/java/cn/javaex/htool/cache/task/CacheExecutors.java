@@ -0,0 +1,102 @@
+package cn.javaex.htool.cache.task;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 缓存后台任务使用的公共线程池
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class CacheExecutors {
+	
+	/**
+	 * 刷新任务队列长度，队列满时拒绝新的刷新任务（下次读取时会重新提交）
+	 */
+	private static final int REFRESH_QUEUE_SIZE = 1024;
+	
+	private static class SchedulerHolder {
+		private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(newThreadFactory("htool-cache-scheduler"));
+	}
+	
+	private static class SnapshotSchedulerHolder {
+		private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(newThreadFactory("htool-cache-snapshot"));
+	}
+	
+	private static class WriteBehindSchedulerHolder {
+		private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(newThreadFactory("htool-cache-write-behind"));
+	}
+	
+	private static class RefreshExecutorHolder {
+		private static final Executor INSTANCE = newBoundedExecutor("htool-cache-refresh",
+				Math.max(2, Runtime.getRuntime().availableProcessors()), REFRESH_QUEUE_SIZE);
+	}
+	
+	/**
+	 * 公共定时线程（守护线程），用于过期清理、快照等周期任务，任务应尽快返回
+	 * @return
+	 */
+	public static ScheduledExecutorService getScheduler() {
+		return SchedulerHolder.INSTANCE;
+	}
+	
+	/**
+	 * 快照定时线程（守护线程），写快照耗时较长，与过期清理分开执行
+	 * @return
+	 */
+	public static ScheduledExecutorService getSnapshotScheduler() {
+		return SnapshotSchedulerHolder.INSTANCE;
+	}
+	
+	/**
+	 * 延迟写入定时线程（守护线程），写入后端存储较慢，与过期清理分开执行
+	 * @return
+	 */
+	public static ScheduledExecutorService getWriteBehindScheduler() {
+		return WriteBehindSchedulerHolder.INSTANCE;
+	}
+	
+	/**
+	 * 默认的异步刷新线程池：有界队列，守护线程，饱和时拒绝任务（抛出RejectedExecutionException）
+	 * @return
+	 */
+	public static Executor getRefreshExecutor() {
+		return RefreshExecutorHolder.INSTANCE;
+	}
+	
+	/**
+	 * 创建有界线程池，饱和时抛出RejectedExecutionException，由调用方决定如何处理
+	 * @param namePrefix : 线程名前缀
+	 * @param threads : 线程数
+	 * @param queueSize : 队列长度
+	 * @return
+	 */
+	public static ThreadPoolExecutor newBoundedExecutor(String namePrefix, int threads, int queueSize) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(queueSize), newThreadFactory(namePrefix), new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
+	/**
+	 * 创建守护线程工厂
+	 * @param namePrefix : 线程名前缀
+	 * @return
+	 */
+	public static ThreadFactory newThreadFactory(String namePrefix) {
+		AtomicInteger index = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, namePrefix + "-" + index.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+	
+}
@@ -0,0 +1,61 @@
+package cn.javaex.htool.cache.task;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import cn.javaex.htool.cache.manager.impl.CacheManagerImpl;
+
+/**
+ * 定时写缓存快照
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class CacheSnapshotTask {
+	
+	/**
+	 * 弱引用，缓存实例被回收后任务自动停止
+	 */
+	private final WeakReference<CacheManagerImpl> cacheManagerRef;
+	private final long intervalMillis;
+	private volatile ScheduledFuture<?> future;
+	
+	public CacheSnapshotTask(CacheManagerImpl cacheManagerImpl, long intervalMillis) {
+		this.cacheManagerRef = new WeakReference<CacheManagerImpl>(cacheManagerImpl);
+		this.intervalMillis = intervalMillis;
+	}
+	
+	/**
+	 * 每隔intervalMillis写一次快照（只重写有变化的分段）
+	 */
+	public void snapshotSchedule() {
+		future = CacheExecutors.getSnapshotScheduler().scheduleWithFixedDelay(this::snapshot, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * 停止定时任务
+	 */
+	public void cancel() {
+		if (future != null) {
+			future.cancel(false);
+		}
+	}
+	
+	private void snapshot() {
+		CacheManagerImpl cacheManagerImpl = cacheManagerRef.get();
+		if (cacheManagerImpl == null) {
+			if (future != null) {
+				future.cancel(false);
+			}
+			return;
+		}
+		
+		try {
+			cacheManagerImpl.snapshot();
+		} catch (Throwable e) {
+			e.printStackTrace();
+		}
+	}
+	
+}
@@ -0,0 +1,50 @@
+package cn.javaex.htool.cache.task;
+
+import cn.javaex.htool.cache.model.CacheInfo;
+
+/**
+ * 时间轮中的定时节点，对应一条带过期时间的缓存
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class TimerNode {
+	/**
+	 * 缓存key
+	 */
+	private final String key;
+	/**
+	 * 缓存信息
+	 */
+	private final CacheInfo cacheInfo;
+	/**
+	 * 到期刻度
+	 */
+	long deadline;
+	
+	TimerNode prev;
+	TimerNode next;
+	
+	public TimerNode(String key, CacheInfo cacheInfo) {
+		this.key = key;
+		this.cacheInfo = cacheInfo;
+	}
+	
+	/**
+	 * 哨兵节点
+	 */
+	TimerNode() {
+		this(null, null);
+		this.prev = this;
+		this.next = this;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public CacheInfo getCacheInfo() {
+		return cacheInfo;
+	}
+	
+}
@@ -0,0 +1,178 @@
+package cn.javaex.htool.cache.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 分层时间轮
+ * <p>
+ * 共5层，每层64个桶，第n层每个桶覆盖 64^n 个刻度。定时节点按剩余时间放入对应层，
+ * 时间推进时只处理走过的桶：到期的节点取出，未到期的降到更低一层。
+ * 插入、取消都是O(1)，推进的开销只与到期和降层的节点数有关，与缓存总数无关。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class TimerWheel {
+	private static final int BITS = 6;
+	private static final int WHEEL_SIZE = 1 << BITS;
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+	private static final int LEVELS = 5;
+	
+	/**
+	 * 刻度：单位（毫秒）
+	 */
+	private final long tickMillis;
+	/**
+	 * 每个桶是一个以哨兵节点为头的双向循环链表
+	 */
+	private final TimerNode[][] wheels;
+	/**
+	 * 当前刻度
+	 */
+	private long currentTick;
+	
+	/**
+	 * @param tickMillis : 刻度，单位（毫秒），到期缓存最迟在一个刻度后被回收
+	 */
+	public TimerWheel(long tickMillis) {
+		if (tickMillis <= 0) {
+			throw new IllegalArgumentException("tickMillis must be positive");
+		}
+		
+		this.tickMillis = tickMillis;
+		this.currentTick = System.currentTimeMillis() / tickMillis;
+		this.wheels = new TimerNode[LEVELS][WHEEL_SIZE];
+		for (int i = 0; i < LEVELS; i++) {
+			for (int j = 0; j < WHEEL_SIZE; j++) {
+				wheels[i][j] = new TimerNode();
+			}
+		}
+	}
+	
+	public long getTickMillis() {
+		return tickMillis;
+	}
+	
+	/**
+	 * 添加或重新设置定时节点
+	 * @param node
+	 * @param expireAt : 到期时间戳（毫秒）
+	 */
+	public synchronized void schedule(TimerNode node, long expireAt) {
+		if (node.next != null) {
+			unlink(node);
+		}
+		
+		// 向上取整，保证到期判断不会早于expireAt
+		node.deadline = expireAt / tickMillis + (expireAt % tickMillis == 0 ? 0 : 1);
+		this.link(node);
+	}
+	
+	/**
+	 * 取消定时节点
+	 * @param node
+	 */
+	public synchronized void cancel(TimerNode node) {
+		if (node.next != null) {
+			unlink(node);
+		}
+	}
+	
+	/**
+	 * 清空所有定时节点
+	 */
+	public synchronized void clear() {
+		for (TimerNode[] wheel : wheels) {
+			for (TimerNode sentinel : wheel) {
+				TimerNode node = sentinel.next;
+				while (node != sentinel) {
+					TimerNode next = node.next;
+					node.prev = null;
+					node.next = null;
+					node = next;
+				}
+				sentinel.prev = sentinel;
+				sentinel.next = sentinel;
+			}
+		}
+	}
+	
+	/**
+	 * 推进时间轮
+	 * @param now : 当前时间戳（毫秒）
+	 * @return 已到期的节点
+	 */
+	public synchronized List<TimerNode> advance(long now) {
+		long nowTick = now / tickMillis;
+		long previousTick = currentTick;
+		if (nowTick <= previousTick) {
+			return Collections.emptyList();
+		}
+		currentTick = nowTick;
+		
+		List<TimerNode> expired = new ArrayList<TimerNode>();
+		for (int level = 0; level < LEVELS; level++) {
+			int shift = BITS * level;
+			long previousBucket = previousTick >>> shift;
+			long currentBucket = nowTick >>> shift;
+			if (currentBucket == previousBucket) {
+				// 低层没有转完一圈，更高层也不会变化
+				break;
+			}
+			
+			long steps = Math.min(currentBucket - previousBucket, WHEEL_SIZE);
+			for (long i = 1; i <= steps; i++) {
+				this.expireBucket(wheels[level][(int) ((previousBucket + i) & WHEEL_MASK)], expired);
+			}
+		}
+		return expired;
+	}
+	
+	/**
+	 * 处理一个桶：到期的节点放入expired，未到期的按剩余时间重新放置
+	 */
+	private void expireBucket(TimerNode sentinel, List<TimerNode> expired) {
+		TimerNode node = sentinel.next;
+		sentinel.prev = sentinel;
+		sentinel.next = sentinel;
+		
+		while (node != sentinel) {
+			TimerNode next = node.next;
+			node.prev = null;
+			node.next = null;
+			
+			if (node.deadline <= currentTick) {
+				expired.add(node);
+			} else {
+				this.link(node);
+			}
+			node = next;
+		}
+	}
+	
+	private void link(TimerNode node) {
+		long deadline = Math.max(node.deadline, currentTick + 1);
+		long delta = deadline - currentTick;
+		
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= (1L << (BITS * (level + 1)))) {
+			level++;
+		}
+		
+		TimerNode sentinel = wheels[level][(int) ((deadline >>> (BITS * level)) & WHEEL_MASK)];
+		node.prev = sentinel.prev;
+		node.next = sentinel;
+		sentinel.prev.next = node;
+		sentinel.prev = node;
+	}
+	
+	private static void unlink(TimerNode node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+		node.prev = null;
+		node.next = null;
+	}
+	
+}
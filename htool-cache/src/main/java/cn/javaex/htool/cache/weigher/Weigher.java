@@ -0,0 +1,22 @@
+package cn.javaex.htool.cache.weigher;
+
+/**
+ * 缓存数据权重计算接口
+ * <p>
+ * 权重在写入时计算一次，之后不再变化，所以缓存的数据写入后不应再被修改大小。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+@FunctionalInterface
+public interface Weigher {
+
+	/**
+	 * 计算权重
+	 * @param key
+	 * @param value : 缓存数据（可能为null）
+	 * @return 权重（不能为负数），通常为估算的字节数
+	 */
+	int weigh(String key, Object value);
+	
+}
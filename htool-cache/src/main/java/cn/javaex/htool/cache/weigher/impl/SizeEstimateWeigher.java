@@ -0,0 +1,158 @@
+package cn.javaex.htool.cache.weigher.impl;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Collection;
+import java.util.Map;
+
+import cn.javaex.htool.cache.weigher.Weigher;
+
+/**
+ * 按常见类型估算占用字节数的权重计算
+ * <p>
+ * 按64位JVM开启指针压缩估算：String、数组、集合、Map、BufferedImage、包装类型；
+ * 集合和Map向下展开3层，更深的元素和其它类型按固定值计算。结果只是近似值，用于限制堆内存占用。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class SizeEstimateWeigher implements Weigher {
+	
+	public static final SizeEstimateWeigher INSTANCE = new SizeEstimateWeigher();
+	
+	/**
+	 * 无法估算的对象按此字节数计算
+	 */
+	private static final long DEFAULT_OBJECT_SIZE = 64L;
+	/**
+	 * 对象头
+	 */
+	private static final long OBJECT_HEADER = 16L;
+	/**
+	 * 引用
+	 */
+	private static final long REFERENCE = 4L;
+	/**
+	 * 集合中每个元素的额外开销（节点或数组槽位）
+	 */
+	private static final long ENTRY_OVERHEAD = 32L;
+	/**
+	 * 集合和Map最多展开的层数
+	 */
+	private static final int MAX_DEPTH = 3;
+
+	@Override
+	public int weigh(String key, Object value) {
+		long size = estimate(key, 0) + estimate(value, 0);
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * 估算对象占用的字节数
+	 * @param obj
+	 * @return
+	 */
+	public long estimate(Object obj) {
+		return estimate(obj, 0);
+	}
+	
+	private long estimate(Object obj, int depth) {
+		if (obj == null) {
+			return 0L;
+		}
+		
+		if (obj instanceof String) {
+			// String对象 + char[]
+			return 24L + align(OBJECT_HEADER + 2L * ((String) obj).length());
+		}
+		if (obj instanceof byte[]) {
+			return align(OBJECT_HEADER + ((byte[]) obj).length);
+		}
+		if (obj instanceof Number || obj instanceof Boolean || obj instanceof Character) {
+			return (obj instanceof Long || obj instanceof Double) ? 24L : 16L;
+		}
+		if (obj instanceof BufferedImage) {
+			return estimateImage((BufferedImage) obj);
+		}
+		if (obj.getClass().isArray()) {
+			return estimateArray(obj, depth);
+		}
+		if (obj instanceof Collection) {
+			Collection<?> collection = (Collection<?>) obj;
+			long size = 48L + ENTRY_OVERHEAD * collection.size();
+			if (depth < MAX_DEPTH) {
+				for (Object element : collection) {
+					size += estimate(element, depth + 1);
+				}
+			} else {
+				size += DEFAULT_OBJECT_SIZE * collection.size();
+			}
+			return size;
+		}
+		if (obj instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) obj;
+			long size = 64L + ENTRY_OVERHEAD * map.size();
+			if (depth < MAX_DEPTH) {
+				for (Map.Entry<?, ?> entry : map.entrySet()) {
+					size += estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1);
+				}
+			} else {
+				size += 2 * DEFAULT_OBJECT_SIZE * map.size();
+			}
+			return size;
+		}
+		return DEFAULT_OBJECT_SIZE;
+	}
+	
+	private long estimateArray(Object array, int depth) {
+		if (array instanceof char[]) {
+			return align(OBJECT_HEADER + 2L * ((char[]) array).length);
+		}
+		if (array instanceof short[]) {
+			return align(OBJECT_HEADER + 2L * ((short[]) array).length);
+		}
+		if (array instanceof int[]) {
+			return align(OBJECT_HEADER + 4L * ((int[]) array).length);
+		}
+		if (array instanceof float[]) {
+			return align(OBJECT_HEADER + 4L * ((float[]) array).length);
+		}
+		if (array instanceof long[]) {
+			return align(OBJECT_HEADER + 8L * ((long[]) array).length);
+		}
+		if (array instanceof double[]) {
+			return align(OBJECT_HEADER + 8L * ((double[]) array).length);
+		}
+		if (array instanceof boolean[]) {
+			return align(OBJECT_HEADER + ((boolean[]) array).length);
+		}
+		
+		Object[] objects = (Object[]) array;
+		long size = align(OBJECT_HEADER + REFERENCE * objects.length);
+		if (depth < MAX_DEPTH) {
+			for (Object element : objects) {
+				size += estimate(element, depth + 1);
+			}
+		} else {
+			size += DEFAULT_OBJECT_SIZE * objects.length;
+		}
+		return size;
+	}
+	
+	/**
+	 * 图片按像素缓冲区大小计算
+	 */
+	private static long estimateImage(BufferedImage image) {
+		DataBuffer dataBuffer = image.getRaster().getDataBuffer();
+		long bytesPerElement = DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8;
+		return 128L + align(OBJECT_HEADER + (long) dataBuffer.getSize() * dataBuffer.getNumBanks() * bytesPerElement);
+	}
+	
+	/**
+	 * 按8字节对齐
+	 */
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+	
+}
@@ -0,0 +1,51 @@
+package cn.javaex.htool.cache.writer;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 缓存数据写入后端存储的接口
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public interface CacheWriter {
+
+	/**
+	 * 写入单个key的数据
+	 * @param key
+	 * @param value
+	 * @throws Exception
+	 */
+	void write(String key, Object value) throws Exception;
+	
+	/**
+	 * 删除单个key的数据
+	 * @param key
+	 * @throws Exception
+	 */
+	void delete(String key) throws Exception;
+	
+	/**
+	 * 批量写入，默认逐个调用write（延迟写入时使用，建议实现为一次批量操作）
+	 * @param map : key与数据的映射
+	 * @throws Exception
+	 */
+	default void writeAll(Map<String, Object> map) throws Exception {
+		for (Map.Entry<String, Object> entry : map.entrySet()) {
+			this.write(entry.getKey(), entry.getValue());
+		}
+	}
+	
+	/**
+	 * 批量删除，默认逐个调用delete
+	 * @param keys
+	 * @throws Exception
+	 */
+	default void deleteAll(Set<String> keys) throws Exception {
+		for (String key : keys) {
+			this.delete(key);
+		}
+	}
+	
+}
@@ -0,0 +1,335 @@
+package cn.javaex.htool.cache.writer;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import cn.javaex.htool.cache.task.CacheExecutors;
+
+/**
+ * 延迟写入队列
+ * <p>
+ * 同一个key在写入后端之前的多次写入/删除合并为最后一次；
+ * 按固定间隔、或积累到batchSize个key时，批量调用CacheWriter写入。
+ * 待写入的key达到maxPending个时，写入新key的线程阻塞等待，直到有空位（反压）。
+ * 批量写入失败时，这批数据放回队列（期间又被写入的key以新数据为准），等待一段时间后再写，
+ * 连续失败时等待时间逐次翻倍，最长 {@link #MAX_RETRY_DELAY} 毫秒。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class WriteBehindQueue {
+	
+	/**
+	 * 写入失败后最长的重试等待时间：单位（毫秒）
+	 */
+	public static final long MAX_RETRY_DELAY = 60 * 1000L;
+	
+	private final CacheWriter cacheWriter;
+	private final long flushInterval;
+	private final int batchSize;
+	private final int maxPending;
+	
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notFull = lock.newCondition();
+	/**
+	 * 待写入的数据，按首次进入队列的顺序
+	 */
+	private final LinkedHashMap<String, PendingWrite> pendingMap = new LinkedHashMap<String, PendingWrite>();
+	/**
+	 * 正在写入后端的一批数据
+	 */
+	private volatile Map<String, PendingWrite> flushingMap = Collections.emptyMap();
+	
+	/**
+	 * 同一时刻只有一个线程在写入后端
+	 */
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private final AtomicBoolean flushSubmitted = new AtomicBoolean();
+	private volatile FlushTask flushTask;
+	/**
+	 * 写入失败后的重试等待时间，以及下一次允许自动写入的时间（只在flushLock锁内修改）
+	 */
+	private long retryDelay;
+	private volatile long retryTime;
+	
+	/**
+	 * @param cacheWriter : 后端存储
+	 * @param flushInterval : 写入间隔，单位（毫秒）
+	 * @param batchSize : 每批最多写入的key数，积累到这么多时立即写入
+	 * @param maxPending : 最多待写入的key数，超过时写入线程阻塞
+	 */
+	public WriteBehindQueue(CacheWriter cacheWriter, long flushInterval, int batchSize, int maxPending) {
+		this.cacheWriter = cacheWriter;
+		this.flushInterval = flushInterval;
+		this.batchSize = batchSize;
+		this.maxPending = maxPending;
+	}
+	
+	/**
+	 * 开始定时写入
+	 */
+	public void start() {
+		flushTask = new FlushTask(this);
+		flushTask.future = CacheExecutors.getWriteBehindScheduler().scheduleWithFixedDelay(flushTask, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * 停止定时写入，并写入剩余数据
+	 */
+	public void close() {
+		if (flushTask != null) {
+			flushTask.cancel();
+		}
+		this.flush(true);
+	}
+	
+	/**
+	 * 加入一次写入
+	 * @param key
+	 * @param value
+	 */
+	public void enqueueWrite(String key, Object value) {
+		this.enqueue(key, new PendingWrite(value, false));
+	}
+	
+	/**
+	 * 加入一次删除
+	 * @param key
+	 */
+	public void enqueueDelete(String key) {
+		this.enqueue(key, new PendingWrite(null, true));
+	}
+	
+	/**
+	 * 获取还没有写入后端的数据
+	 * @param key
+	 * @return 没有待写入的数据时返回null
+	 */
+	public PendingWrite getPending(String key) {
+		lock.lock();
+		try {
+			PendingWrite pendingWrite = pendingMap.get(key);
+			return pendingWrite != null ? pendingWrite : flushingMap.get(key);
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * 待写入的key数
+	 * @return
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return pendingMap.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * 把队列中的数据全部写入后端（写入失败时停止，剩余数据留到下一次）
+	 */
+	public void flush() {
+		this.flush(true);
+	}
+	
+	/**
+	 * @param force : 为false时（定时写入、积累满一批时），如果还在写入失败后的等待时间内则不写入
+	 */
+	private void flush(boolean force) {
+		flushLock.lock();
+		try {
+			if (!force && System.currentTimeMillis() < retryTime) {
+				return;
+			}
+			
+			while (true) {
+				Map<String, PendingWrite> batch = this.takeBatch();
+				if (batch.isEmpty()) {
+					return;
+				}
+				
+				try {
+					if (!this.writeBatch(batch)) {
+						this.requeue(batch);
+						retryDelay = retryDelay == 0 ? flushInterval : Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+						retryTime = System.currentTimeMillis() + retryDelay;
+						return;
+					}
+				} finally {
+					flushingMap = Collections.emptyMap();
+				}
+				retryDelay = 0;
+				retryTime = 0;
+			}
+		} finally {
+			flushLock.unlock();
+		}
+	}
+	
+	private void enqueue(String key, PendingWrite pendingWrite) {
+		boolean full;
+		lock.lock();
+		try {
+			// 已在队列中的key直接合并，不占用新的位置
+			while (!pendingMap.containsKey(key) && pendingMap.size() >= maxPending) {
+				try {
+					notFull.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for the write-behind queue", e);
+				}
+			}
+			pendingMap.put(key, pendingWrite);
+			full = pendingMap.size() >= batchSize;
+		} finally {
+			lock.unlock();
+		}
+		
+		if (full && flushSubmitted.compareAndSet(false, true)) {
+			CacheExecutors.getWriteBehindScheduler().execute(() -> {
+				flushSubmitted.set(false);
+				this.flush(false);
+			});
+		}
+	}
+	
+	/**
+	 * 从队列中取出一批数据，在同一次加锁内设为正在写入的数据，getPending不会漏掉这批key
+	 */
+	private Map<String, PendingWrite> takeBatch() {
+		lock.lock();
+		try {
+			Map<String, PendingWrite> batch = new LinkedHashMap<String, PendingWrite>();
+			Iterator<Map.Entry<String, PendingWrite>> iterator = pendingMap.entrySet().iterator();
+			while (iterator.hasNext() && batch.size() < batchSize) {
+				Map.Entry<String, PendingWrite> entry = iterator.next();
+				batch.put(entry.getKey(), entry.getValue());
+				iterator.remove();
+			}
+			if (!batch.isEmpty()) {
+				flushingMap = batch;
+				notFull.signalAll();
+			}
+			return batch;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * @return 是否写入成功
+	 */
+	private boolean writeBatch(Map<String, PendingWrite> batch) {
+		Map<String, Object> writeMap = new LinkedHashMap<String, Object>();
+		Set<String> deleteKeys = new LinkedHashSet<String>();
+		for (Map.Entry<String, PendingWrite> entry : batch.entrySet()) {
+			if (entry.getValue().isDelete()) {
+				deleteKeys.add(entry.getKey());
+			} else {
+				writeMap.put(entry.getKey(), entry.getValue().getValue());
+			}
+		}
+		
+		try {
+			if (!writeMap.isEmpty()) {
+				cacheWriter.writeAll(writeMap);
+			}
+			if (!deleteKeys.isEmpty()) {
+				cacheWriter.deleteAll(deleteKeys);
+			}
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+	
+	/**
+	 * 写入失败的数据放回队列，期间又有新数据的key以新数据为准（不受maxPending限制）
+	 */
+	private void requeue(Map<String, PendingWrite> batch) {
+		lock.lock();
+		try {
+			for (Map.Entry<String, PendingWrite> entry : batch.entrySet()) {
+				if (!pendingMap.containsKey(entry.getKey())) {
+					pendingMap.put(entry.getKey(), entry.getValue());
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * 一次待写入的操作
+	 */
+	public static class PendingWrite {
+		private final Object value;
+		private final boolean delete;
+		
+		PendingWrite(Object value, boolean delete) {
+			this.value = value;
+			this.delete = delete;
+		}
+		
+		public Object getValue() {
+			return value;
+		}
+		
+		/**
+		 * 是否为删除
+		 * @return
+		 */
+		public boolean isDelete() {
+			return delete;
+		}
+	}
+	
+	/**
+	 * 弱引用定时写入任务，缓存实例被回收后自动停止
+	 */
+	private static class FlushTask implements Runnable {
+		private final WeakReference<WriteBehindQueue> queueRef;
+		private volatile ScheduledFuture<?> future;
+		
+		FlushTask(WriteBehindQueue queue) {
+			this.queueRef = new WeakReference<WriteBehindQueue>(queue);
+		}
+		
+		void cancel() {
+			if (future != null) {
+				future.cancel(false);
+			}
+		}
+
+		@Override
+		public void run() {
+			WriteBehindQueue queue = queueRef.get();
+			if (queue == null) {
+				this.cancel();
+				return;
+			}
+			
+			try {
+				queue.flush(false);
+			} catch (Throwable e) {
+				// 不能让异常终止定时任务
+				e.printStackTrace();
+			}
+		}
+	}
+	
+}
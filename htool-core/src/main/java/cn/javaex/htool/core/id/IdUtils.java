@@ -12,23 +12,27 @@ import java.util.UUID;
  * @Date 2022年11月25日
  */
 public class IdUtils {
-    private static final long TWEPOCH = 1543376515623L;
-    private static final long WORKER_ID_BITS = 10L;
-    private static final long DATA_CENTER_ID_BITS = 0L;
-    private static final long SEQUENCE_BITS = 12L;
-    private static final long WORKER_ID_SHIFT = SEQUENCE_BITS;
-    private static final long DATA_CENTER_ID_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
-    private static final long TIMESTAMP_LEFT_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS + DATA_CENTER_ID_BITS;
-    private static final long SEQUENCE_MASK = -1L ^ (-1L << SEQUENCE_BITS);
-    private static long WORKER_ID;
-    private static long DATA_CENTER_ID;
-    private static long SEQUENCE = 0L;
-    private static long LAST_TIMESTAMP = -1L;
+    /**
+     * 指定默认生成器机器ID的系统属性（未设置时读取环境变量HTOOL_ID_WORKER_ID，都未设置时由本机IP推算）
+     */
+    public static final String WORKER_ID_PROPERTY = "htool.id.workerId";
+    private static final String WORKER_ID_ENV = "HTOOL_ID_WORKER_ID";
+    private static final long WORKER_ID_BITS = SnowflakeGenerator.WORKER_ID_BITS;
+    /**
+     * 首次生成数字ID时才创建，机器ID配置错误时只影响数字ID，不影响UUID等其它方法
+     */
+    private static volatile SnowflakeGenerator SNOWFLAKE;
 
-    static {
-        long localIp = Long.parseLong(getSiteLocalIp().replace(".", ""));
-        WORKER_ID = localIp % (-1L ^ (-1L << WORKER_ID_BITS));
-        DATA_CENTER_ID = 0L;
+    /**
+     * 替换getLongId等方法使用的生成器（如由SnowflakeBuilder配置了注册中心、时钟回拨策略的实例）
+     *
+     * @param generator : 生成器
+     */
+    public static void setGenerator(SnowflakeGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("generator must not be null");
+        }
+        SNOWFLAKE = generator;
     }
 
     /**
@@ -37,7 +41,26 @@ public class IdUtils {
      * @return
      */
     public static String getUUID() {
-        return UUID.randomUUID().toString().replace("-", "");
+        UUID uuid = UUID.randomUUID();
+        return UuidV7Generator.toHex(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * 生成按时间有序的UUIDv7（不带连字符的32位十六进制），适合作为数据库主键
+     *
+     * @return
+     */
+    public static String getUUIDv7() {
+        return UuidV7Generator.nextHex();
+    }
+
+    /**
+     * 生成ULID（26位，按字典序即时间序）
+     *
+     * @return
+     */
+    public static String getULID() {
+        return UlidGenerator.next();
     }
 
     /**
@@ -45,7 +68,7 @@ public class IdUtils {
      *
      * @return
      */
-    public static synchronized String getLongIdStr() {
+    public static String getLongIdStr() {
         return String.valueOf(getLongId());
     }
 
@@ -54,28 +77,57 @@ public class IdUtils {
      *
      * @return
      */
-    public static synchronized long getLongId() {
-        long timestamp = System.currentTimeMillis();
+    public static long getLongId() {
+        return getGenerator().nextId();
+    }
 
-        if (timestamp < LAST_TIMESTAMP) {
-            throw new RuntimeException(String.format("Clock moved backwards", LAST_TIMESTAMP - timestamp));
-        }
+    /**
+     * 一次得到n个唯一数字ID
+     *
+     * @param n : 数量
+     * @return
+     */
+    public static long[] getLongIds(int n) {
+        return getGenerator().nextIds(n);
+    }
 
-        if (LAST_TIMESTAMP == timestamp) {
-            SEQUENCE = (SEQUENCE + 1) & SEQUENCE_MASK;
-            if (SEQUENCE == 0) {
-                timestamp = tilNextMillis(LAST_TIMESTAMP);
+    private static SnowflakeGenerator getGenerator() {
+        SnowflakeGenerator generator = SNOWFLAKE;
+        if (generator != null) {
+            return generator;
+        }
+        synchronized (IdUtils.class) {
+            if (SNOWFLAKE == null) {
+                SNOWFLAKE = new SnowflakeGenerator(getDefaultWorkerId(), 0L);
             }
-        } else {
-            SEQUENCE = 0L;
+            return SNOWFLAKE;
         }
+    }
 
-        LAST_TIMESTAMP = timestamp;
+    private static long getDefaultWorkerId() {
+        String source = "system property " + WORKER_ID_PROPERTY;
+        String configured = System.getProperty(WORKER_ID_PROPERTY);
+        if (configured == null || configured.trim().isEmpty()) {
+            source = "environment variable " + WORKER_ID_ENV;
+            configured = System.getenv(WORKER_ID_ENV);
+        }
+        if (configured != null && !configured.trim().isEmpty()) {
+            long maxWorkerId = ~(-1L << WORKER_ID_BITS);
+            long workerId;
+            try {
+                workerId = Long.parseLong(configured.trim());
+            } catch (NumberFormatException e) {
+                workerId = -1L;
+            }
+            if (workerId < 0 || workerId > maxWorkerId) {
+                throw new IllegalArgumentException("Invalid worker id in " + source + ": '" + configured
+                        + "', must be an integer in [0, " + maxWorkerId + "]");
+            }
+            return workerId;
+        }
 
-        return ((timestamp - TWEPOCH) << TIMESTAMP_LEFT_SHIFT)
-                | (DATA_CENTER_ID << DATA_CENTER_ID_SHIFT)
-                | (WORKER_ID << WORKER_ID_SHIFT)
-                | SEQUENCE;
+        long localIp = Long.parseLong(getSiteLocalIp().replace(".", ""));
+        return localIp % (-1L ^ (-1L << WORKER_ID_BITS));
     }
 
     private static String getSiteLocalIp() {
@@ -101,14 +153,4 @@ public class IdUtils {
         return "127.0.0.1";
     }
 
-    private static long tilNextMillis(long lastTimestamp) {
-        long timestamp = System.currentTimeMillis();
-
-        while (timestamp <= lastTimestamp) {
-            timestamp = System.currentTimeMillis();
-        }
-
-        return timestamp;
-    }
-
 }
@@ -0,0 +1,203 @@
+package cn.javaex.htool.core.id;
+
+import cn.javaex.htool.core.id.enums.ClockBackwardsStrategy;
+import cn.javaex.htool.core.id.registry.IWorkerIdRegistry;
+
+/**
+ * 雪花ID生成器构建器
+ * <p>
+ * 示例：SnowflakeBuilder.newBuilder().dataCenterIdBits(5).workerIdBits(5).dataCenterId(1)
+ *     .workerIdRegistry(new FileLockWorkerIdRegistry(Paths.get("/var/run/app/worker-ids")))
+ *     .clockBackwards(ClockBackwardsStrategy.WAIT, 10).build();
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class SnowflakeBuilder {
+    /**
+     * 时间戳、机器ID、数据中心ID、序列号的总位数上限（时间戳至少保留41位）
+     */
+    private static final int MAX_LAYOUT_BITS = 63 - 41;
+
+    /**
+     * 起始时间戳
+     */
+    private long epoch = SnowflakeGenerator.TWEPOCH;
+    private int dataCenterIdBits = (int) SnowflakeGenerator.DATA_CENTER_ID_BITS;
+    private int workerIdBits = (int) SnowflakeGenerator.WORKER_ID_BITS;
+    private int sequenceBits = (int) SnowflakeGenerator.SEQUENCE_BITS;
+    private long dataCenterId = 0L;
+    private long workerId = 0L;
+    /**
+     * 机器ID注册中心（不为null时忽略workerId，从注册中心申请）
+     */
+    private IWorkerIdRegistry workerIdRegistry;
+    private ClockBackwardsStrategy clockBackwardsStrategy = ClockBackwardsStrategy.BORROW;
+    /**
+     * 容忍的时钟回拨：单位（毫秒）
+     */
+    private long maxBackwardsMillis = 1000L;
+
+    private SnowflakeBuilder() {
+
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @return
+     */
+    public static SnowflakeBuilder newBuilder() {
+        return new SnowflakeBuilder();
+    }
+
+    /**
+     * 设置起始时间戳
+     *
+     * @param epoch : 毫秒时间戳，不能晚于当前时间
+     * @return
+     */
+    public SnowflakeBuilder epoch(long epoch) {
+        if (epoch < 0 || epoch > System.currentTimeMillis()) {
+            throw new IllegalArgumentException("epoch must not be in the future: " + epoch);
+        }
+        this.epoch = epoch;
+        return this;
+    }
+
+    /**
+     * 设置数据中心ID位数
+     *
+     * @param dataCenterIdBits : 位数（可以为0）
+     * @return
+     */
+    public SnowflakeBuilder dataCenterIdBits(int dataCenterIdBits) {
+        this.dataCenterIdBits = dataCenterIdBits;
+        return this;
+    }
+
+    /**
+     * 设置机器ID位数
+     *
+     * @param workerIdBits : 位数
+     * @return
+     */
+    public SnowflakeBuilder workerIdBits(int workerIdBits) {
+        this.workerIdBits = workerIdBits;
+        return this;
+    }
+
+    /**
+     * 设置序列号位数，决定每毫秒最多生成的ID数
+     *
+     * @param sequenceBits : 位数（至少1位）
+     * @return
+     */
+    public SnowflakeBuilder sequenceBits(int sequenceBits) {
+        this.sequenceBits = sequenceBits;
+        return this;
+    }
+
+    /**
+     * 设置数据中心ID
+     *
+     * @param dataCenterId : 0 ~ 2^dataCenterIdBits-1
+     * @return
+     */
+    public SnowflakeBuilder dataCenterId(long dataCenterId) {
+        this.dataCenterId = dataCenterId;
+        return this;
+    }
+
+    /**
+     * 设置固定的机器ID
+     *
+     * @param workerId : 0 ~ 2^workerIdBits-1
+     * @return
+     */
+    public SnowflakeBuilder workerId(long workerId) {
+        this.workerId = workerId;
+        return this;
+    }
+
+    /**
+     * 从注册中心申请机器ID，生成器关闭时释放
+     *
+     * @param workerIdRegistry : 机器ID注册中心
+     * @return
+     */
+    public SnowflakeBuilder workerIdRegistry(IWorkerIdRegistry workerIdRegistry) {
+        this.workerIdRegistry = workerIdRegistry;
+        return this;
+    }
+
+    /**
+     * 设置时钟回拨的处理策略
+     *
+     * @param strategy : 处理策略
+     * @param maxBackwardsMillis : 容忍的回拨毫秒数（WAIT、BORROW有效），超出时抛出异常
+     * @return
+     */
+    public SnowflakeBuilder clockBackwards(ClockBackwardsStrategy strategy, long maxBackwardsMillis) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("strategy must not be null");
+        }
+        if (maxBackwardsMillis < 0) {
+            throw new IllegalArgumentException("maxBackwardsMillis must not be negative: " + maxBackwardsMillis);
+        }
+        this.clockBackwardsStrategy = strategy;
+        this.maxBackwardsMillis = maxBackwardsMillis;
+        return this;
+    }
+
+    /**
+     * 构建生成器
+     *
+     * @return
+     */
+    public SnowflakeGenerator build() {
+        if (dataCenterIdBits < 0 || workerIdBits < 0 || sequenceBits < 1
+                || dataCenterIdBits + workerIdBits + sequenceBits > MAX_LAYOUT_BITS) {
+            throw new IllegalStateException(String.format("Invalid layout: dataCenterIdBits=%d, workerIdBits=%d, sequenceBits=%d (total at most %d)",
+                    dataCenterIdBits, workerIdBits, sequenceBits, MAX_LAYOUT_BITS));
+        }
+        return new SnowflakeGenerator(this);
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public int getDataCenterIdBits() {
+        return dataCenterIdBits;
+    }
+
+    public int getWorkerIdBits() {
+        return workerIdBits;
+    }
+
+    public int getSequenceBits() {
+        return sequenceBits;
+    }
+
+    public long getDataCenterId() {
+        return dataCenterId;
+    }
+
+    public long getWorkerId() {
+        return workerId;
+    }
+
+    public IWorkerIdRegistry getWorkerIdRegistry() {
+        return workerIdRegistry;
+    }
+
+    public ClockBackwardsStrategy getClockBackwardsStrategy() {
+        return clockBackwardsStrategy;
+    }
+
+    public long getMaxBackwardsMillis() {
+        return maxBackwardsMillis;
+    }
+
+}
@@ -0,0 +1,213 @@
+package cn.javaex.htool.core.id;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import cn.javaex.htool.core.id.enums.ClockBackwardsStrategy;
+import cn.javaex.htool.core.id.registry.WorkerIdLease;
+
+/**
+ * 无锁雪花ID生成器
+ * <p>
+ * 时间戳和序列号打包在一个AtomicLong中（时间戳 << sequenceBits | 序列号），通过CAS推进，不需要synchronized。
+ * 同一毫秒内序列号用尽时，进位到下一毫秒（借用未来的时间）而不是自旋等待；
+ * 借用超过 {@link #MAX_BORROW_MILLIS} 毫秒后才等待时钟追上。
+ * <p>
+ * 位布局、机器ID分配方式和时钟回拨策略通过 {@link SnowflakeBuilder} 配置。
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class SnowflakeGenerator implements Closeable {
+    /**
+     * 默认起始时间戳
+     */
+    public static final long TWEPOCH = 1543376515623L;
+    public static final long WORKER_ID_BITS = 10L;
+    public static final long DATA_CENTER_ID_BITS = 0L;
+    public static final long SEQUENCE_BITS = 12L;
+    /**
+     * 序列号用尽时最多允许借用的未来毫秒数，超过时等待时钟追上
+     */
+    public static final long MAX_BORROW_MILLIS = 1000L;
+
+    private final long epoch;
+    private final int sequenceBits;
+    private final int workerIdShift;
+    private final int dataCenterIdShift;
+    private final int timestampLeftShift;
+    private final long sequenceMask;
+    private final long workerId;
+    private final long dataCenterId;
+    private final WorkerIdLease lease;
+    private final ClockBackwardsStrategy clockBackwardsStrategy;
+    private final long maxBackwardsMillis;
+
+    /**
+     * 最近一次分配的（相对时间戳 << sequenceBits | 序列号）
+     */
+    private final AtomicLong state = new AtomicLong();
+    /**
+     * 观察到的最大相对时钟，用来区分时钟回拨和借用时间
+     */
+    private final AtomicLong lastClock = new AtomicLong();
+
+    /**
+     * 默认布局（10位机器ID、12位序列号）
+     *
+     * @param workerId : 机器ID（0 ~ 1023）
+     * @param dataCenterId : 数据中心ID（默认布局没有数据中心位，只能为0）
+     */
+    public SnowflakeGenerator(long workerId, long dataCenterId) {
+        this(SnowflakeBuilder.newBuilder().workerId(workerId).dataCenterId(dataCenterId));
+    }
+
+    SnowflakeGenerator(SnowflakeBuilder builder) {
+        this.epoch = builder.getEpoch();
+        this.sequenceBits = builder.getSequenceBits();
+        this.workerIdShift = sequenceBits;
+        this.dataCenterIdShift = sequenceBits + builder.getWorkerIdBits();
+        this.timestampLeftShift = dataCenterIdShift + builder.getDataCenterIdBits();
+        this.sequenceMask = ~(-1L << sequenceBits);
+        this.clockBackwardsStrategy = builder.getClockBackwardsStrategy();
+        this.maxBackwardsMillis = builder.getMaxBackwardsMillis();
+
+        long maxWorkerId = ~(-1L << builder.getWorkerIdBits());
+        long maxDataCenterId = ~(-1L << builder.getDataCenterIdBits());
+        if (builder.getDataCenterId() < 0 || builder.getDataCenterId() > maxDataCenterId) {
+            throw new IllegalArgumentException("dataCenterId out of range [0, " + maxDataCenterId + "]: " + builder.getDataCenterId());
+        }
+        this.dataCenterId = builder.getDataCenterId();
+
+        if (builder.getWorkerIdRegistry() != null) {
+            this.lease = builder.getWorkerIdRegistry().acquire(maxWorkerId);
+            this.workerId = lease.getWorkerId();
+        } else {
+            this.lease = null;
+            this.workerId = builder.getWorkerId();
+        }
+        if (workerId < 0 || workerId > maxWorkerId) {
+            throw new IllegalArgumentException("workerId out of range [0, " + maxWorkerId + "]: " + workerId);
+        }
+    }
+
+    /**
+     * 生成一个ID
+     *
+     * @return
+     */
+    public long nextId() {
+        return compose(reserve(1));
+    }
+
+    /**
+     * 一次原子操作预留连续的n个ID
+     * <p>
+     * 最多借用 {@link #MAX_BORROW_MILLIS} 毫秒的序列号，n不能超过 (MAX_BORROW_MILLIS + 1) * 2^sequenceBits。
+     *
+     * @param n : 数量
+     * @return 按生成顺序递增的ID
+     */
+    public long[] nextIds(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        long maxIds = (MAX_BORROW_MILLIS + 1) << sequenceBits;
+        if (n > maxIds) {
+            throw new IllegalArgumentException("n must not exceed " + maxIds + ": " + n);
+        }
+
+        long first = reserve(n);
+        long[] ids = new long[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = compose(first + i);
+        }
+        return ids;
+    }
+
+    public long getWorkerId() {
+        return workerId;
+    }
+
+    public long getDataCenterId() {
+        return dataCenterId;
+    }
+
+    /**
+     * 释放从注册中心申请的机器ID
+     */
+    @Override
+    public void close() throws IOException {
+        if (lease != null) {
+            lease.close();
+        }
+    }
+
+    /**
+     * 推进状态，返回预留区间的第一个值
+     */
+    private long reserve(int n) {
+        for (;;) {
+            long current = state.get();
+            // 先读lastClock再读时钟，避免把其它线程刚推进的时钟误判为回拨
+            long clock = lastClock.get();
+            long now = System.currentTimeMillis() - epoch;
+            if (now < clock) {
+                now = onClockBackwards(now, clock);
+                if (now < 0) {
+                    continue;
+                }
+            } else if (now > clock) {
+                lastClock.compareAndSet(clock, now);
+            }
+
+            // 进入新的毫秒时序列号从0开始，否则接着上一个值；序列号溢出会自然进位到时间戳
+            long lastTimestamp = current >>> sequenceBits;
+            long first = now > lastTimestamp ? now << sequenceBits : current + 1;
+            long last = first + n - 1;
+            if ((last >>> sequenceBits) - now > MAX_BORROW_MILLIS) {
+                Thread.yield();
+                continue;
+            }
+
+            if (state.compareAndSet(current, last)) {
+                return first;
+            }
+        }
+    }
+
+    /**
+     * 时钟回拨处理
+     *
+     * @return 用于生成ID的时间戳，-1表示已等待，需要重新读取时钟
+     */
+    private long onClockBackwards(long now, long clock) {
+        long offset = clock - now;
+        if (clockBackwardsStrategy == ClockBackwardsStrategy.THROW || offset > maxBackwardsMillis) {
+            throw new IllegalStateException(String.format("Clock moved backwards. Refusing to generate id for %d milliseconds", offset));
+        }
+
+        if (clockBackwardsStrategy == ClockBackwardsStrategy.WAIT) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(offset);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for clock to catch up", e);
+            }
+            return -1;
+        }
+
+        // BORROW：沿用已观察到的最大时钟，序列号继续递增
+        return clock;
+    }
+
+    private long compose(long value) {
+        return ((value >>> sequenceBits) << timestampLeftShift)
+                | (dataCenterId << dataCenterIdShift)
+                | (workerId << workerIdShift)
+                | (value & sequenceMask);
+    }
+
+}
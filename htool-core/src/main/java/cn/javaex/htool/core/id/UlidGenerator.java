@@ -0,0 +1,46 @@
+package cn.javaex.htool.core.id;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ULID生成器：48位毫秒时间戳 + 80位随机数，Crockford Base32编码为26位字符串，按字典序即时间序
+ * <p>
+ * 随机数来自ThreadLocalRandom，不可用作安全令牌。
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public final class UlidGenerator {
+    private static final char[] ENCODING = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final long MASK_40 = 0xFFFFFFFFFFL;
+
+    private UlidGenerator() {
+
+    }
+
+    /**
+     * 生成ULID
+     *
+     * @return 26位字符串
+     */
+    public static String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = new char[26];
+        // 时间戳10位，随机数拆成两个40位各8位
+        writeBase32(chars, 0, System.currentTimeMillis(), 10);
+        writeBase32(chars, 10, random.nextLong() & MASK_40, 8);
+        writeBase32(chars, 18, random.nextLong() & MASK_40, 8);
+        return new String(chars);
+    }
+
+    /**
+     * 把value的低digits个5位组写入chars[offset, offset+digits)
+     */
+    private static void writeBase32(char[] chars, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = ENCODING[(int) (value & 0x1F)];
+            value >>>= 5;
+        }
+    }
+
+}
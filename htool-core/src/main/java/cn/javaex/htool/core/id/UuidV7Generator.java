@@ -0,0 +1,99 @@
+package cn.javaex.htool.core.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * UUIDv7（RFC 9562）生成器：48位毫秒时间戳 + 版本号 + 74位随机数，按时间有序
+ * <p>
+ * 随机数来自ThreadLocalRandom，不争用UUID.randomUUID()共享的SecureRandom；
+ * 字符串直接编码到char数组，不经过UUID.toString()和replace。
+ * 随机部分不可用作安全令牌，需要不可预测的ID时请使用 {@link IdUtils#getUUID()}。
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public final class UuidV7Generator {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private UuidV7Generator() {
+
+    }
+
+    /**
+     * 生成UUIDv7
+     *
+     * @return
+     */
+    public static UUID next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(mostSignificantBits(random), leastSignificantBits(random));
+    }
+
+    /**
+     * 生成不带连字符的32位小写十六进制字符串
+     *
+     * @return
+     */
+    public static String nextHex() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return toHex(mostSignificantBits(random), leastSignificantBits(random));
+    }
+
+    /**
+     * 生成标准格式（8-4-4-4-12）字符串
+     *
+     * @return
+     */
+    public static String nextString() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = mostSignificantBits(random);
+        long lsb = leastSignificantBits(random);
+
+        char[] chars = new char[36];
+        writeHex(chars, 0, msb >>> 32, 8);
+        chars[8] = '-';
+        writeHex(chars, 9, msb >>> 16, 4);
+        chars[13] = '-';
+        writeHex(chars, 14, msb, 4);
+        chars[18] = '-';
+        writeHex(chars, 19, lsb >>> 48, 4);
+        chars[23] = '-';
+        writeHex(chars, 24, lsb, 12);
+        return new String(chars);
+    }
+
+    /**
+     * 把128位编码为32位小写十六进制字符串
+     *
+     * @param msb : 高64位
+     * @param lsb : 低64位
+     * @return
+     */
+    public static String toHex(long msb, long lsb) {
+        char[] chars = new char[32];
+        writeHex(chars, 0, msb, 16);
+        writeHex(chars, 16, lsb, 16);
+        return new String(chars);
+    }
+
+    private static long mostSignificantBits(ThreadLocalRandom random) {
+        long timestamp = System.currentTimeMillis();
+        return (timestamp << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+    }
+
+    private static long leastSignificantBits(ThreadLocalRandom random) {
+        return (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    }
+
+    /**
+     * 把value的低digits个十六进制位写入chars[offset, offset+digits)
+     */
+    private static void writeHex(char[] chars, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package cn.javaex.htool.core.id.enums;
+
+/**
+ * 时钟回拨时的处理策略
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public enum ClockBackwardsStrategy {
+    /** 立即抛出异常 */
+    THROW,
+    /** 回拨不超过容忍时间时，等待时钟追上后继续生成，否则抛出异常 */
+    WAIT,
+    /** 回拨不超过容忍时间时，沿用上次的时间戳继续递增序列号（借用时间），否则抛出异常 */
+    BORROW;
+}
@@ -0,0 +1,20 @@
+package cn.javaex.htool.core.id.registry;
+
+/**
+ * 机器ID注册中心，为每个生成器实例分配不重复的机器ID
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public interface IWorkerIdRegistry {
+
+    /**
+     * 申请一个空闲的机器ID
+     *
+     * @param maxWorkerId : 允许的最大机器ID（含）
+     * @return 租约，持有期间其它申请者不会得到相同的ID
+     * @throws IllegalStateException 没有空闲的机器ID
+     */
+    WorkerIdLease acquire(long maxWorkerId);
+
+}
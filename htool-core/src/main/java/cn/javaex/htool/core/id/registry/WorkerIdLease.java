@@ -0,0 +1,36 @@
+package cn.javaex.htool.core.id.registry;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 机器ID租约，关闭后机器ID可被其它进程重新分配
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class WorkerIdLease implements Closeable {
+    private final long workerId;
+    private final Closeable resource;
+
+    /**
+     * @param workerId : 分配到的机器ID
+     * @param resource : 持有租约的资源，关闭即释放租约
+     */
+    public WorkerIdLease(long workerId, Closeable resource) {
+        this.workerId = workerId;
+        this.resource = resource;
+    }
+
+    public long getWorkerId() {
+        return workerId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (resource != null) {
+            resource.close();
+        }
+    }
+
+}
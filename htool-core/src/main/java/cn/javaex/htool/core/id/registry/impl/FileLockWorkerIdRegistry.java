@@ -0,0 +1,84 @@
+package cn.javaex.htool.core.id.registry.impl;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import cn.javaex.htool.core.id.registry.IWorkerIdRegistry;
+import cn.javaex.htool.core.id.registry.WorkerIdLease;
+
+/**
+ * 基于文件锁的机器ID注册中心
+ * <p>
+ * 每个机器ID对应目录下的一个锁文件，持有文件锁即持有租约。进程退出后操作系统自动释放文件锁，
+ * 不会因为进程崩溃而泄漏ID。适用于共享同一目录（本机或共享卷）的多个进程，跨主机部署时可替换为基于ZooKeeper、Redis等的实现。
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class FileLockWorkerIdRegistry implements IWorkerIdRegistry {
+    private final Path directory;
+
+    /**
+     * @param directory : 存放锁文件的目录，不存在时自动创建
+     */
+    public FileLockWorkerIdRegistry(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public WorkerIdLease acquire(long maxWorkerId) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create worker id directory: " + directory, e);
+        }
+
+        // 从随机位置开始尝试，减少多个进程同时启动时的冲突
+        long start = (long) (Math.random() * (maxWorkerId + 1));
+        for (long i = 0; i <= maxWorkerId; i++) {
+            long workerId = (start + i) % (maxWorkerId + 1);
+            WorkerIdLease lease = tryLock(workerId);
+            if (lease != null) {
+                return lease;
+            }
+        }
+
+        throw new IllegalStateException("No free worker id in " + directory + " (max " + maxWorkerId + ")");
+    }
+
+    private WorkerIdLease tryLock(long workerId) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(directory.resolve("worker-" + workerId + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return new WorkerIdLease(workerId, channel);
+            }
+        } catch (OverlappingFileLockException e) {
+            // 当前进程内已持有该ID
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        closeQuietly(channel);
+        return null;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+}
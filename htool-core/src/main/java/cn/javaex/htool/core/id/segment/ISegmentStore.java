@@ -0,0 +1,22 @@
+package cn.javaex.htool.core.id.segment;
+
+/**
+ * 号段存储，持久化每个业务已分配出去的最大ID
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public interface ISegmentStore {
+
+    /**
+     * 原子地把业务的最大ID增加step，返回新分配的号段
+     * <p>
+     * 多个进程共享同一存储时，实现必须保证号段互不重叠。
+     *
+     * @param bizTag : 业务标识
+     * @param step : 号段长度
+     * @return 新号段
+     */
+    Segment nextSegment(String bizTag, int step);
+
+}
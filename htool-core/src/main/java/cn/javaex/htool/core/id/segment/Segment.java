@@ -0,0 +1,61 @@
+package cn.javaex.htool.core.id.segment;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 号段：[start, end) 范围内的ID，在内存中通过AtomicLong逐个发放
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class Segment {
+    private final long start;
+    private final long end;
+    private final AtomicLong cursor;
+
+    /**
+     * @param start : 第一个ID（含）
+     * @param end : 最后一个ID（不含）
+     */
+    public Segment(long start, long end) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Empty segment [" + start + ", " + end + ")");
+        }
+        this.start = start;
+        this.end = end;
+        this.cursor = new AtomicLong(start);
+    }
+
+    /**
+     * 取下一个ID
+     *
+     * @return 号段用完时返回-1
+     */
+    public long next() {
+        long id = cursor.getAndIncrement();
+        return id < end ? id : -1L;
+    }
+
+    /**
+     * 剩余可发放的ID数量
+     *
+     * @return
+     */
+    public long remaining() {
+        return Math.max(0L, end - cursor.get());
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return "Segment[" + start + ", " + end + "), remaining=" + remaining();
+    }
+
+}
@@ -0,0 +1,83 @@
+package cn.javaex.htool.core.id.segment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 单个业务的双号段缓冲：当前号段发放ID，剩余量低于阈值时异步预取下一号段
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+class SegmentBuffer {
+    private final ISegmentStore store;
+    private final String bizTag;
+    private final int step;
+    private final long prefetchThreshold;
+    private final Executor executor;
+
+    private volatile Segment current;
+    private volatile CompletableFuture<Segment> next;
+
+    SegmentBuffer(ISegmentStore store, String bizTag, int step, double prefetchRatio, Executor executor) {
+        this.store = store;
+        this.bizTag = bizTag;
+        this.step = step;
+        this.prefetchThreshold = (long) (step * prefetchRatio);
+        this.executor = executor;
+        this.current = store.nextSegment(bizTag, step);
+    }
+
+    long nextId() {
+        for (;;) {
+            Segment segment = current;
+            long id = segment.next();
+            if (id >= 0) {
+                if (next == null && segment.remaining() <= prefetchThreshold) {
+                    prefetch(segment);
+                }
+                return id;
+            }
+            switchSegment(segment);
+        }
+    }
+
+    /**
+     * 每个号段只触发一次预取（预取失败时，切换号段时再同步分配）
+     */
+    private synchronized void prefetch(Segment segment) {
+        if (current != segment || next != null) {
+            return;
+        }
+        next = CompletableFuture.supplyAsync(() -> store.nextSegment(bizTag, step), executor);
+    }
+
+    /**
+     * 当前号段用完，切换到预取的号段（预取尚未完成时等待，没有预取时同步分配）
+     */
+    private synchronized void switchSegment(Segment exhausted) {
+        if (current != exhausted) {
+            return;
+        }
+
+        CompletableFuture<Segment> future = next;
+        next = null;
+        if (future == null) {
+            current = store.nextSegment(bizTag, step);
+            return;
+        }
+
+        try {
+            current = future.join();
+        } catch (CompletionException e) {
+            // 预取失败，同步重新分配
+            current = store.nextSegment(bizTag, step);
+        }
+    }
+
+    Segment getCurrent() {
+        return current;
+    }
+
+}
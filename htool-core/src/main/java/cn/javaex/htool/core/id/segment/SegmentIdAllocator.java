@@ -0,0 +1,89 @@
+package cn.javaex.htool.core.id.segment;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 号段模式ID分配器：按业务从号段存储批量申请ID，在内存中发放，得到稠密、单调递增的数字ID
+ * <p>
+ * 每个业务维护两个号段，当前号段剩余量低于 prefetchRatio * step 时异步预取下一号段，
+ * 只要预取快于消耗，发放ID就不会等待存储。
+ * <p>
+ * 示例：new SegmentIdAllocator(new FileSegmentStore(Paths.get("/data/ids")), 1000).nextId("order");
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class SegmentIdAllocator {
+    /**
+     * 默认预取阈值：当前号段剩余90%时开始预取（即消耗10%后）
+     */
+    public static final double DEFAULT_PREFETCH_RATIO = 0.9;
+
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "htool-segment-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ISegmentStore store;
+    private final int step;
+    private final double prefetchRatio;
+    private final Executor executor;
+    private final Map<String, SegmentBuffer> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * @param store : 号段存储
+     * @param step : 每次申请的号段长度
+     */
+    public SegmentIdAllocator(ISegmentStore store, int step) {
+        this(store, step, DEFAULT_PREFETCH_RATIO, PREFETCH_EXECUTOR);
+    }
+
+    /**
+     * @param store : 号段存储
+     * @param step : 每次申请的号段长度
+     * @param prefetchRatio : 当前号段剩余比例低于该值时预取（0 ~ 1）
+     * @param executor : 执行预取的线程池
+     */
+    public SegmentIdAllocator(ISegmentStore store, int step, double prefetchRatio, Executor executor) {
+        if (store == null || executor == null) {
+            throw new IllegalArgumentException("store and executor must not be null");
+        }
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be positive: " + step);
+        }
+        if (prefetchRatio < 0 || prefetchRatio > 1) {
+            throw new IllegalArgumentException("prefetchRatio must be in [0, 1]: " + prefetchRatio);
+        }
+        this.store = store;
+        this.step = step;
+        this.prefetchRatio = prefetchRatio;
+        this.executor = executor;
+    }
+
+    /**
+     * 得到业务的下一个ID
+     *
+     * @param bizTag : 业务标识
+     * @return
+     */
+    public long nextId(String bizTag) {
+        return buffers.computeIfAbsent(bizTag, tag -> new SegmentBuffer(store, tag, step, prefetchRatio, executor)).nextId();
+    }
+
+    /**
+     * 业务当前正在发放的号段
+     *
+     * @param bizTag : 业务标识
+     * @return 尚未使用过该业务时返回null
+     */
+    public Segment getCurrentSegment(String bizTag) {
+        SegmentBuffer buffer = buffers.get(bizTag);
+        return buffer == null ? null : buffer.getCurrent();
+    }
+
+}
@@ -0,0 +1,93 @@
+package cn.javaex.htool.core.id.segment.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+import cn.javaex.htool.core.id.segment.ISegmentStore;
+import cn.javaex.htool.core.id.segment.Segment;
+
+/**
+ * 基于文件的号段存储
+ * <p>
+ * 每个业务一个文件，内容为已分配的最大ID。分配时持有文件锁读取、更新并强制刷盘，
+ * 共享同一目录的多个进程分配到的号段不会重叠；进程重启后从已分配的最大ID之后继续（未用完的号段作废）。
+ *
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class FileSegmentStore implements ISegmentStore {
+    private static final Pattern BIZ_TAG_PATTERN = Pattern.compile("[A-Za-z0-9_.\\-]+");
+    /**
+     * 文件锁由进程持有，同一进程内（包括多个实例之间）的分配通过该锁串行
+     */
+    private static final Object LOCK = new Object();
+
+    private final Path directory;
+
+    /**
+     * @param directory : 存放号段文件的目录，不存在时自动创建
+     */
+    public FileSegmentStore(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Segment nextSegment(String bizTag, int step) {
+        if (bizTag == null || !BIZ_TAG_PATTERN.matcher(bizTag).matches()) {
+            throw new IllegalArgumentException("Invalid bizTag: " + bizTag);
+        }
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be positive: " + step);
+        }
+
+        synchronized (LOCK) {
+            return allocate(bizTag, step);
+        }
+    }
+
+    private Segment allocate(String bizTag, int step) {
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(directory.resolve(bizTag + ".segment"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    long maxId = readMaxId(channel);
+                    long newMaxId = maxId + step;
+
+                    // 新值不会比旧值短，先覆盖写入再截断，任何时刻崩溃都不会留下空文件
+                    byte[] bytes = String.valueOf(newMaxId).getBytes(StandardCharsets.US_ASCII);
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer, buffer.position());
+                    }
+                    channel.truncate(bytes.length);
+                    channel.force(true);
+
+                    return new Segment(maxId + 1, newMaxId + 1);
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot allocate segment for " + bizTag + " in " + directory, e);
+        }
+    }
+
+    private static long readMaxId(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+            // 读满或读到文件末尾
+        }
+        String content = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII).trim();
+        return content.isEmpty() ? 0L : Long.parseLong(content);
+    }
+
+}
@@ -18,6 +18,8 @@ import java.util.List;
 
 import javax.servlet.http.HttpServletResponse;
 
+import cn.javaex.htool.core.io.copy.CopyProgressListener;
+import cn.javaex.htool.core.io.copy.DirectoryCopier;
 import cn.javaex.htool.core.io.handler.FileHandler;
 import cn.javaex.htool.core.io.handler.FileHelper;
 import cn.javaex.htool.core.io.handler.FilenameHandler;
@@ -265,57 +267,30 @@ public class FileUtils extends FileHelper {
 	 * @throws IOException
 	 */
 	public static void copyDirectory(File srcDir, File destDir) throws IOException {
-		// 1. 校验文件合法性
-		// 1.1 校验文件复制操作需要的参数属性
-		FileHandler.requireFileCopy(srcDir, destDir);
-		// 1.2 校验复制源是否是一个目录
-		FileHandler.requireDirectory(srcDir);
-		// 1.3 校验2个File对象是否是同一个文件路径，如果是，则报错
-		FileHandler.requireCanonicalPathsNotEquals(srcDir, destDir);
-
-		// 2. 源目录中的目录分类
-		List<String> exclusionList = null;
-		String srcDirCanonicalPath = srcDir.getCanonicalPath();
-		String destDirCanonicalPath = destDir.getCanonicalPath();
-		if (destDirCanonicalPath.startsWith(srcDirCanonicalPath)) {
-			File[] srcFiles = listFiles(srcDir);
-			if (srcFiles.length > 0) {
-				exclusionList = new ArrayList<>(srcFiles.length);
-				for (File srcFile : srcFiles) {
-					File copiedFile = new File(destDir, srcFile.getName());
-					exclusionList.add(copiedFile.getCanonicalPath());
-				}
-			}
-		}
-		
-		// 3. 复制目录
-		doCopyDirectory(srcDir, destDir, exclusionList);
+		copyDirectory(srcDir, destDir, DirectoryCopier.DEFAULT_PARALLELISM, null);
 	}
 	
 	/**
-	 * 复制目录的具体实现
+	 * 复制目录（不复制源目录本身），多个文件并行复制，并通知进度
+	 * 如果目标目录不存在，将创建该目录
+	 * 如果目标目录确实存在，则此方法将源与目标合并，源文件会覆盖目标文件
 	 * @param srcDir
 	 * @param destDir
-	 * @param exclusionList
+	 * @param parallelism  同时复制的文件数
+	 * @param listener	 进度回调（在复制线程中调用），可以为null
 	 * @throws IOException
 	 */
-	private static void doCopyDirectory(File srcDir, File destDir, List<String> exclusionList) throws IOException {
-		// 1. 创建目标目录
-		FileHandler.mkdirs(destDir);
-		FileHandler.requireCanWrite(destDir);
+	public static void copyDirectory(File srcDir, File destDir, int parallelism, CopyProgressListener listener) throws IOException {
+		// 1. 校验文件合法性
+		// 1.1 校验文件复制操作需要的参数属性
+		FileHandler.requireFileCopy(srcDir, destDir);
+		// 1.2 校验复制源是否是一个目录
+		FileHandler.requireDirectory(srcDir);
+		// 1.3 校验2个File对象是否是同一个文件路径，如果是，则报错
+		FileHandler.requireCanonicalPathsNotEquals(srcDir, destDir);
 		
-		// 2. 递归遍历目录，复制文件
-		File[] srcFiles = listFiles(srcDir);
-		for (File srcFile : srcFiles) {
-			File dstFile = new File(destDir, srcFile.getName());
-			if (exclusionList == null || !exclusionList.contains(srcFile.getCanonicalPath())) {
-				if (srcFile.isDirectory()) {
-					doCopyDirectory(srcFile, dstFile, exclusionList);
-				} else {
-					copyFile(srcFile, dstFile);
-				}
-			}
-		}
+		// 2. 复制目录（目标目录位于源目录内时，不会复制目标目录自身）
+		DirectoryCopier.copy(srcDir.toPath(), destDir.toPath(), parallelism, listener);
 	}
 	
 	/**
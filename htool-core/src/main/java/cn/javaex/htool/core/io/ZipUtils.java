@@ -6,15 +6,21 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.Enumeration;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
+import javax.servlet.http.HttpServletResponse;
+
 import cn.javaex.htool.core.io.handler.FileHandler;
 import cn.javaex.htool.core.io.handler.FileHelper;
+import cn.javaex.htool.core.io.zip.ParallelUnzipper;
+import cn.javaex.htool.core.io.zip.ParallelZipper;
+import cn.javaex.htool.core.io.zip.ZipOptions;
+import cn.javaex.htool.core.io.zip.ZipWriter;
 
 /**
  * 文件压缩工具类
@@ -65,6 +71,7 @@ public class ZipUtils extends FileHelper {
 				
 				// 创建zip实体，并添加进压缩包
 				ZipEntry zipEntry = new ZipEntry(srcFile.getName());
+				zipEntry.setTime(srcFile.lastModified());
 				zos.putNextEntry(zipEntry);
 				
 				fis = new FileInputStream(srcFile);
@@ -85,15 +92,9 @@ public class ZipUtils extends FileHelper {
 				
 				// 将每个文件放入zip流中
 				for (File file : fileList) {
-					String name = FileHandler.getRealName(srcPath, file);	// 获取文件相对路径，保持文件原有结构
-					ZipEntry zipEntry = null;
-					if (isKeepFolder) {
-						zipEntry = new ZipEntry(new File(srcPath).getName() + File.separator + name); 
-					} else {
-						zipEntry = new ZipEntry(name); 
-					}
-					
+					ZipEntry zipEntry = new ZipEntry(getEntryName(srcPath, file, isKeepFolder));
 					zipEntry.setSize(file.length());
+					zipEntry.setTime(file.lastModified());
 					zos.putNextEntry(zipEntry);
 					
 					fis = new FileInputStream(file);
@@ -119,6 +120,98 @@ public class ZipUtils extends FileHelper {
 		}
 	}
 	
+	/**
+	 * 并行创建zip压缩文件，使用全部CPU核心
+	 * @param srcPath	 源目录或文件的绝对路径，例如：D:\\Temp  或  D:\\Temp\\1.docx
+	 * @param zipPath	 压缩后的文件绝对路径，例如：D:\\Temp\\xx.zip
+	 * @throws IOException 
+	 */
+	public static void zipParallel(String srcPath, String zipPath) throws IOException {
+		zipParallel(srcPath, zipPath, true, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * 并行创建zip压缩文件
+	 * <p>
+	 * 各文件在独立的线程中压缩，再按与 {@link #zip(String, String, boolean)} 相同的顺序和条目名称拼接，适合包含大量或大体积文件的目录。
+	 * @param srcPath	  源目录或文件的绝对路径，例如：D:\\Temp  或  D:\\Temp\\1.docx
+	 * @param zipPath	  压缩后的文件绝对路径，例如：D:\\Temp\\xx.zip
+	 * @param isKeepFolder 是否将目录名称也一起压缩
+	 * @param parallelism  并行度
+	 * @throws IOException 
+	 */
+	public static void zipParallel(String srcPath, String zipPath, boolean isKeepFolder, int parallelism) throws IOException {
+		zip(srcPath, zipPath, isKeepFolder, new ZipOptions().parallelism(parallelism));
+	}
+	
+	/**
+	 * 按指定选项创建zip压缩文件
+	 * <p>
+	 * 可设置压缩级别；已压缩格式（jpg、mp4、zip等）或试压缩比过低的文件直接存储（STORED）；
+	 * 按选项中的并行度并行压缩；超过4GB或65535个条目时自动使用ZIP64。
+	 * @param srcPath	  源目录或文件的绝对路径，例如：D:\\Temp  或  D:\\Temp\\1.docx
+	 * @param zipPath	  压缩后的文件绝对路径，例如：D:\\Temp\\xx.zip
+	 * @param isKeepFolder 是否将目录名称也一起压缩
+	 * @param options	  压缩选项，例如：new ZipOptions().level(1).parallelism(4)
+	 * @throws IOException 
+	 */
+	public static void zip(String srcPath, String zipPath, boolean isKeepFolder, ZipOptions options) throws IOException {
+		File srcFile = new File(srcPath);
+		FileHandler.requireExists(srcFile);
+		
+		File zipFile = new File(zipPath);
+		// 如果压缩包已存在，则先删除
+		if (zipFile.exists()) {
+			FileUtils.deleteFileOrDirectory(zipFile);
+		}
+		
+		List<File> fileList;
+		List<String> nameList = new ArrayList<String>();
+		if (srcFile.isFile()) {
+			fileList = Collections.singletonList(srcFile);
+			nameList.add(srcFile.getName());
+		} else {
+			fileList = FileUtils.listDeepFiles(srcFile);
+			for (File file : fileList) {
+				nameList.add(getEntryName(srcPath, file, isKeepFolder));
+			}
+		}
+		
+		ParallelZipper.zip(fileList, nameList, zipFile, options);
+	}
+	
+	/**
+	 * 把目录或文件压缩后直接写入输出流（不生成临时压缩包），写完后关闭输出流
+	 * @param srcPath	  源目录或文件的绝对路径，例如：D:\\Temp  或  D:\\Temp\\1.docx
+	 * @param out		  输出流
+	 * @param isKeepFolder 是否将目录名称也一起压缩
+	 * @throws IOException 
+	 */
+	public static void zip(String srcPath, OutputStream out, boolean isKeepFolder) throws IOException {
+		File srcFile = new File(srcPath);
+		FileHandler.requireExists(srcFile);
+		
+		try (ZipWriter writer = new ZipWriter(out)) {
+			putEntries(writer, srcPath, srcFile, isKeepFolder);
+		}
+	}
+	
+	/**
+	 * 把目录或文件边压缩边下载
+	 * @param srcPath	  源目录或文件的绝对路径，例如：D:\\Temp  或  D:\\Temp\\1.docx
+	 * @param newFilename  下载的文件名称（带后缀）
+	 */
+	public static void downloadZip(HttpServletResponse response, String srcPath, String newFilename) {
+		File srcFile = new File(srcPath);
+		FileHandler.requireExists(srcFile);
+		
+		try (ZipWriter writer = ZipWriter.of(response, newFilename)) {
+			putEntries(writer, srcPath, srcFile, true);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+	
 	/**
 	 * zip解压
 	 * @param zipPath	  zip文件的绝对路径，例如：D:\\Temp\\xx.zip
@@ -126,49 +219,60 @@ public class ZipUtils extends FileHelper {
 	 * @throws IOException 
 	 */
 	public static void unZip(String zipPath, String destDirPath) throws IOException {
+		unZip(zipPath, destDirPath, null);
+	}
+	
+	/**
+	 * zip解压，只解压名称匹配glob表达式的条目
+	 * @param zipPath	  zip文件的绝对路径，例如：D:\\Temp\\xx.zip
+	 * @param destDirPath  解压后的目标文件夹路径，例如：D:\\Temp
+	 * @param glob		 条目名称的glob表达式，例如：**.jpg、images/**，为null时解压全部
+	 * @throws IOException 
+	 */
+	public static void unZip(String zipPath, String destDirPath, String glob) throws IOException {
+		unZip(zipPath, destDirPath, glob, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * zip解压，多个条目并行解压
+	 * <p>
+	 * 条目路径规范化后必须位于目标文件夹内，否则抛出IOException（防止zip slip）。
+	 * @param zipPath	  zip文件的绝对路径，例如：D:\\Temp\\xx.zip
+	 * @param destDirPath  解压后的目标文件夹路径，例如：D:\\Temp
+	 * @param glob		 条目名称的glob表达式，为null时解压全部
+	 * @param parallelism  并行度
+	 * @throws IOException 
+	 */
+	public static void unZip(String zipPath, String destDirPath, String glob, int parallelism) throws IOException {
 		File file = new File(zipPath);
 		FileHandler.requireFile(file);
 		
-		byte[] buffer = new byte[BUFFER_SIZE * 10];
-		ZipFile zipFile = null;
+		ParallelUnzipper.unzip(file, new File(destDirPath), glob, parallelism);
+	}
+	
+	/**
+	 * 把源目录或文件的全部文件写入ZipWriter
+	 */
+	private static void putEntries(ZipWriter writer, String srcPath, File srcFile, boolean isKeepFolder) throws IOException {
+		if (srcFile.isFile()) {
+			writer.putEntry(srcFile.getName(), srcFile.toPath());
+			return;
+		}
 		
-		try {
-			zipFile = new ZipFile(zipPath);
-			Enumeration<?> entries = zipFile.entries();
-			while (entries.hasMoreElements()) {
-				ZipEntry entry = (ZipEntry) entries.nextElement();
-				// 如果是文件夹，就创建个文件夹
-				if (entry.isDirectory()) {
-					String dirPath = destDirPath + File.separator + entry.getName();
-					File dir = new File(dirPath);
-					dir.mkdirs();
-				} else {
-					// 如果是文件，就先创建一个文件，然后用io流把内容copy过去
-					File targetFile = new File(destDirPath + File.separator + entry.getName());
-					// 保证这个文件的父文件夹必须要存在
-					if (!targetFile.getParentFile().exists()) {
-						targetFile.getParentFile().mkdirs();
-					}
-					targetFile.createNewFile();
-					// 将压缩文件内容写入到这个文件中
-					InputStream in = zipFile.getInputStream(entry);
-					BufferedInputStream bis = new BufferedInputStream(in, BUFFER_SIZE * 10);
-					FileOutputStream fos = new FileOutputStream(targetFile);
-					
-					int read;
-					while ((read=bis.read(buffer, 0, BUFFER_SIZE * 10)) != -1) {
-						fos.write(buffer, 0, read);
-					}
-					
-					fos.close();
-					in.close();
-				}
-			}
-		} catch (IOException e) {
-			throw new IOException(e);
-		} finally {
-			IOUtils.closeQuietly(zipFile);
+		for (File file : FileUtils.listDeepFiles(srcFile)) {
+			writer.putEntry(getEntryName(srcPath, file, isKeepFolder), file.toPath());
+		}
+	}
+	
+	/**
+	 * 获取文件在压缩包中的条目名称，保持文件原有结构
+	 */
+	private static String getEntryName(String srcPath, File file, boolean isKeepFolder) {
+		String name = FileHandler.getRealName(srcPath, file);
+		if (isKeepFolder) {
+			return new File(srcPath).getName() + File.separator + name;
 		}
+		return name;
 	}
 	
 }
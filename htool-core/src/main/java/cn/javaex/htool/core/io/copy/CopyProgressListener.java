@@ -0,0 +1,22 @@
+package cn.javaex.htool.core.io.copy;
+
+import cn.javaex.htool.core.io.model.CopyProgress;
+
+/**
+ * 目录复制进度回调
+ * <p>
+ * 在执行复制的工作线程中调用，多个线程可能同时调用，实现需要线程安全且尽量轻量。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+@FunctionalInterface
+public interface CopyProgressListener {
+	
+	/**
+	 * 一个文件复制完成；全部复制完成后在调用线程中再通知一次最终进度
+	 * @param progress : 当前进度
+	 */
+	void onProgress(CopyProgress progress);
+	
+}
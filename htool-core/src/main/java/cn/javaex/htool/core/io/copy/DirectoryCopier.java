@@ -0,0 +1,208 @@
+package cn.javaex.htool.core.io.copy;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import cn.javaex.htool.core.io.model.CopyProgress;
+
+/**
+ * 并行目录复制
+ * <p>
+ * 调用线程用Files.walkFileTree遍历源目录并创建目标目录，文件交给有界线程池并行复制：
+ * 队列满时由调用线程自己复制，遍历速度不会超出复制速度太多。
+ * 文件内容通过FileChannel.transferTo在内核中复制（Linux上新版JDK使用copy_file_range，支持的文件系统会使用reflink），
+ * 复制后校验大小，并保留最后修改时间和POSIX权限（文件系统支持时）。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class DirectoryCopier {
+	
+	/**
+	 * 默认并行度
+	 */
+	public static final int DEFAULT_PARALLELISM = Math.min(8, Math.max(2, Runtime.getRuntime().availableProcessors()));
+	
+	private final Path srcDir;
+	private final Path destDir;
+	private final Set<Path> exclusions;
+	private final CopyProgressListener listener;
+	private final boolean posix;
+	
+	private final AtomicLong copiedFiles = new AtomicLong();
+	private final AtomicLong copiedBytes = new AtomicLong();
+	private final AtomicLong foundFiles = new AtomicLong();
+	private final AtomicLong foundBytes = new AtomicLong();
+	private volatile boolean scanComplete;
+	/**
+	 * 第一个失败的异常（IOException或RuntimeException，包括进度回调抛出的异常）
+	 */
+	private final AtomicReference<Exception> failure = new AtomicReference<>();
+	
+	private DirectoryCopier(Path srcDir, Path destDir, Set<Path> exclusions, CopyProgressListener listener) {
+		this.srcDir = srcDir;
+		this.destDir = destDir;
+		this.exclusions = exclusions;
+		this.listener = listener;
+		this.posix = destDir.getFileSystem().supportedFileAttributeViews().contains("posix");
+	}
+	
+	/**
+	 * 复制目录内容（不复制源目录本身），目标中已存在的文件被覆盖
+	 * @param srcDir : 源目录
+	 * @param destDir : 目标目录，不存在时创建；位于源目录内时不会复制自身
+	 * @param parallelism : 同时复制的文件数
+	 * @param listener : 进度回调，可以为null
+	 * @throws IOException
+	 */
+	public static void copy(Path srcDir, Path destDir, int parallelism, CopyProgressListener listener) throws IOException {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+		}
+		
+		Path src = srcDir.toRealPath();
+		// 先创建目标目录再取真实路径，源路径经过符号链接时才能正确判断目标是否位于源目录内
+		Files.createDirectories(destDir);
+		Path dest = destDir.toRealPath();
+		
+		// 目标位于源目录内时，排除目标中与源目录顶层同名的条目，避免把已复制的内容再次复制
+		Set<Path> exclusions = new HashSet<>();
+		if (dest.startsWith(src)) {
+			try (DirectoryStream<Path> children = Files.newDirectoryStream(src)) {
+				for (Path child : children) {
+					exclusions.add(dest.resolve(child.getFileName()));
+				}
+			}
+			exclusions.add(dest);
+		}
+		
+		new DirectoryCopier(src, dest, exclusions, listener).run(parallelism);
+	}
+	
+	private void run(int parallelism) throws IOException {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(parallelism * 4), runnable -> {
+					Thread thread = new Thread(runnable, "htool-copy");
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		try {
+			Files.walkFileTree(srcDir, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+					if (failure.get() != null) {
+						return FileVisitResult.TERMINATE;
+					}
+					if (!dir.equals(srcDir) && exclusions.contains(dir)) {
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					Files.createDirectories(destDir.resolve(srcDir.relativize(dir)));
+					return FileVisitResult.CONTINUE;
+				}
+				
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+					if (failure.get() != null) {
+						return FileVisitResult.TERMINATE;
+					}
+					if (exclusions.contains(file)) {
+						return FileVisitResult.CONTINUE;
+					}
+					
+					foundFiles.incrementAndGet();
+					foundBytes.addAndGet(attrs.size());
+					Path target = destDir.resolve(srcDir.relativize(file));
+					executor.execute(() -> copyFile(file, target, attrs));
+					return FileVisitResult.CONTINUE;
+				}
+			});
+			scanComplete = true;
+		} finally {
+			executor.shutdown();
+			awaitTermination(executor);
+		}
+		
+		Exception e = failure.get();
+		if (e instanceof IOException) {
+			throw (IOException) e;
+		}
+		if (e != null) {
+			throw (RuntimeException) e;
+		}
+		
+		// 最后一个文件可能在遍历结束前就已复制完成，补发一次遍历完成后的最终进度
+		if (listener != null) {
+			listener.onProgress(new CopyProgress(copiedFiles.get(), copiedBytes.get(), foundFiles.get(), foundBytes.get(), true, null));
+		}
+	}
+	
+	private void copyFile(Path source, Path target, BasicFileAttributes attrs) {
+		if (failure.get() != null) {
+			return;
+		}
+		
+		try {
+			long size;
+			try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+					FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				size = in.size();
+				long position = 0;
+				while (position < size) {
+					long transferred = in.transferTo(position, size - position, out);
+					if (transferred <= 0) {
+						break;
+					}
+					position += transferred;
+				}
+				if (position != size || out.size() != size) {
+					throw new IOException("Failed to copy full contents from '" + source + "' to '" + target
+							+ "' Expected length: " + size + " Actual: " + out.size());
+				}
+			}
+			Files.getFileAttributeView(target, BasicFileAttributeView.class, LinkOption.NOFOLLOW_LINKS)
+					.setTimes(attrs.lastModifiedTime(), null, null);
+			if (posix) {
+				Files.setPosixFilePermissions(target, Files.getPosixFilePermissions(source));
+			}
+			
+			long files = copiedFiles.incrementAndGet();
+			long bytes = copiedBytes.addAndGet(size);
+			if (listener != null) {
+				listener.onProgress(new CopyProgress(files, bytes, foundFiles.get(), foundBytes.get(), scanComplete, source));
+			}
+		} catch (IOException | RuntimeException e) {
+			failure.compareAndSet(null, e);
+		}
+	}
+	
+	private static void awaitTermination(ThreadPoolExecutor executor) throws IOException {
+		try {
+			while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+				// 大文件复制可能超过1分钟，继续等待
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while copying", e);
+		}
+	}
+	
+}
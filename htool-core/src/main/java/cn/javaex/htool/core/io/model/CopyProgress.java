@@ -0,0 +1,88 @@
+package cn.javaex.htool.core.io.model;
+
+import java.nio.file.Path;
+
+/**
+ * 目录复制进度（每复制完一个文件通知一次，全部复制完成后再通知一次，此时scanComplete为true、lastFile为null）
+ * <p>
+ * 遍历与复制同时进行，scanComplete为false时已发现的文件数和字节数还会继续增加。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class CopyProgress {
+	private final long copiedFiles;
+	private final long copiedBytes;
+	private final long foundFiles;
+	private final long foundBytes;
+	private final boolean scanComplete;
+	private final Path lastFile;
+	
+	public CopyProgress(long copiedFiles, long copiedBytes, long foundFiles, long foundBytes, boolean scanComplete, Path lastFile) {
+		this.copiedFiles = copiedFiles;
+		this.copiedBytes = copiedBytes;
+		this.foundFiles = foundFiles;
+		this.foundBytes = foundBytes;
+		this.scanComplete = scanComplete;
+		this.lastFile = lastFile;
+	}
+	
+	/**
+	 * 已复制的文件数
+	 */
+	public long getCopiedFiles() {
+		return copiedFiles;
+	}
+	
+	/**
+	 * 已复制的字节数
+	 */
+	public long getCopiedBytes() {
+		return copiedBytes;
+	}
+	
+	/**
+	 * 已发现的文件数
+	 */
+	public long getFoundFiles() {
+		return foundFiles;
+	}
+	
+	/**
+	 * 已发现的字节数
+	 */
+	public long getFoundBytes() {
+		return foundBytes;
+	}
+	
+	/**
+	 * 源目录是否已遍历完成（完成后已发现的数量即总数）
+	 */
+	public boolean isScanComplete() {
+		return scanComplete;
+	}
+	
+	/**
+	 * 刚复制完成的源文件，全部复制完成时的最后一次通知中为null
+	 */
+	public Path getLastFile() {
+		return lastFile;
+	}
+	
+	/**
+	 * 按字节计算的完成百分比，遍历未完成时返回-1
+	 */
+	public double getPercent() {
+		if (!scanComplete) {
+			return -1;
+		}
+		return foundBytes == 0 ? 100 : copiedBytes * 100.0 / foundBytes;
+	}
+	
+	@Override
+	public String toString() {
+		return "CopyProgress [copiedFiles=" + copiedFiles + ", copiedBytes=" + copiedBytes + ", foundFiles=" + foundFiles
+				+ ", foundBytes=" + foundBytes + ", scanComplete=" + scanComplete + "]";
+	}
+	
+}
@@ -0,0 +1,267 @@
+package cn.javaex.htool.core.io.zip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import cn.javaex.htool.core.io.IOUtils;
+
+/**
+ * 已压缩完成、等待写入压缩包的条目
+ * <p>
+ * 压缩后的数据不超过阈值时保存在内存中，超过时溢出到临时文件，写入压缩包后删除。
+ * STORED条目只预先计算CRC和大小，写入压缩包时直接从源文件读取。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class DeflatedEntry {
+	/**
+	 * 读取源文件的缓冲区大小
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	private final String name;
+	private final long time;
+	private final int method;
+	private long crc;
+	private long size;
+	private long compressedSize;
+	private byte[] data;
+	private File spillFile;
+	/**
+	 * STORED条目的源文件
+	 */
+	private File source;
+	
+	private DeflatedEntry(String name, long time, int method) {
+		this.name = name;
+		this.time = time;
+		this.method = method;
+	}
+	
+	/**
+	 * 压缩一个文件
+	 * <p>
+	 * 扩展名属于不压缩的类型，或者开头样本的试压缩比过低时，使用STORED直接存储。
+	 * @param name : 条目名称
+	 * @param file : 源文件
+	 * @param options : 压缩选项
+	 * @param spillThreshold : 压缩后超过该字节数时溢出到临时文件
+	 * @return
+	 * @throws IOException
+	 */
+	public static DeflatedEntry deflate(String name, File file, ZipOptions options, long spillThreshold) throws IOException {
+		byte[] input = new byte[Math.max(BUFFER_SIZE, options.getTrialSize())];
+		InputStream in = null;
+		SpillOutputStream out = null;
+		Deflater deflater = null;
+		boolean success = false;
+		try {
+			in = new FileInputStream(file);
+			// 先读入样本，据此决定压缩方式，样本随后作为第一块数据处理
+			int read = readFully(in, input, Math.max(1, options.getTrialSize()));
+			boolean stored = options.isStoredByName(name) || options.isStoredByTrial(input, read);
+			DeflatedEntry entry = new DeflatedEntry(name, file.lastModified(), stored ? ZipArchiveWriter.STORED : ZipArchiveWriter.DEFLATED);
+			
+			CRC32 crc = new CRC32();
+			long size = 0;
+			if (stored) {
+				// 不压缩时只计算CRC和大小，数据在写入压缩包时从源文件读取
+				while (read != -1) {
+					crc.update(input, 0, read);
+					size += read;
+					read = in.read(input);
+				}
+				entry.source = file;
+				entry.compressedSize = size;
+			} else {
+				out = new SpillOutputStream(spillThreshold);
+				byte[] output = new byte[BUFFER_SIZE];
+				deflater = new Deflater(options.getLevel(), true);
+				while (read != -1) {
+					crc.update(input, 0, read);
+					size += read;
+					deflater.setInput(input, 0, read);
+					while (!deflater.needsInput()) {
+						int len = deflater.deflate(output);
+						out.write(output, 0, len);
+					}
+					read = in.read(input);
+				}
+				deflater.finish();
+				while (!deflater.finished()) {
+					int len = deflater.deflate(output);
+					out.write(output, 0, len);
+				}
+				out.close();
+				
+				entry.compressedSize = deflater.getBytesWritten();
+				entry.data = out.getBytes();
+				entry.spillFile = out.getSpillFile();
+			}
+			entry.crc = crc.getValue();
+			entry.size = size;
+			success = true;
+			return entry;
+		} finally {
+			if (deflater != null) {
+				deflater.end();
+			}
+			IOUtils.closeQuietly(in);
+			if (!success && out != null) {
+				out.discard();
+			}
+		}
+	}
+	
+	/**
+	 * 尽量读满len个字节
+	 * @return 实际读取的字节数，文件为空时返回-1
+	 */
+	private static int readFully(InputStream in, byte[] buffer, int len) throws IOException {
+		int offset = 0;
+		int read;
+		while (offset < len && (read = in.read(buffer, offset, len - offset)) != -1) {
+			offset += read;
+		}
+		return offset == 0 ? -1 : offset;
+	}
+	
+	/**
+	 * 把压缩后的数据写入输出流
+	 * @param out
+	 * @throws IOException : STORED条目的源文件在压缩期间被修改时抛出，此时压缩包已不完整
+	 */
+	public void writeDataTo(OutputStream out) throws IOException {
+		if (data != null) {
+			out.write(data);
+			return;
+		}
+		
+		boolean stored = source != null;
+		CRC32 check = stored ? new CRC32() : null;
+		long written = 0;
+		byte[] buffer = new byte[BUFFER_SIZE];
+		InputStream in = new FileInputStream(stored ? source : spillFile);
+		try {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				if (stored) {
+					// 文件头中的大小已经写出，不能多写
+					if (written + read > size) {
+						break;
+					}
+					check.update(buffer, 0, read);
+				}
+				out.write(buffer, 0, read);
+				written += read;
+			}
+		} finally {
+			IOUtils.closeQuietly(in);
+		}
+		
+		if (stored && (written != size || check.getValue() != crc)) {
+			throw new IOException("File changed while zipping: " + source);
+		}
+	}
+	
+	/**
+	 * 释放内存和临时文件
+	 */
+	public void discard() {
+		data = null;
+		source = null;
+		if (spillFile != null) {
+			spillFile.delete();
+			spillFile = null;
+		}
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public long getTime() {
+		return time;
+	}
+	
+	public int getMethod() {
+		return method;
+	}
+	
+	public long getCrc() {
+		return crc;
+	}
+	
+	public long getSize() {
+		return size;
+	}
+	
+	public long getCompressedSize() {
+		return compressedSize;
+	}
+	
+	/**
+	 * 先写内存，超过阈值后把已写内容转存到临时文件
+	 */
+	private static class SpillOutputStream extends OutputStream {
+		private final long threshold;
+		private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+		private File spillFile;
+		private OutputStream fileOut;
+		
+		SpillOutputStream(long threshold) {
+			this.threshold = threshold;
+		}
+		
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+		
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (fileOut == null && memory.size() + len > threshold) {
+				spillFile = File.createTempFile("htool-zip-", ".part");
+				fileOut = new FileOutputStream(spillFile);
+				memory.writeTo(fileOut);
+				memory = null;
+			}
+			if (fileOut != null) {
+				fileOut.write(b, off, len);
+			} else {
+				memory.write(b, off, len);
+			}
+		}
+		
+		@Override
+		public void close() throws IOException {
+			if (fileOut != null) {
+				fileOut.close();
+			}
+		}
+		
+		byte[] getBytes() {
+			return memory == null ? null : memory.toByteArray();
+		}
+		
+		File getSpillFile() {
+			return spillFile;
+		}
+		
+		void discard() {
+			IOUtils.closeQuietly(fileOut);
+			if (spillFile != null) {
+				spillFile.delete();
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,185 @@
+package cn.javaex.htool.core.io.zip;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 并行、可筛选的zip解压
+ * <p>
+ * 所有线程共享同一个ZipFile（中央目录只解析一次），目录在解压前统一创建，各文件在ForkJoinPool中并行解压。
+ * 小文件整体读入后一次写入FileChannel，大文件通过FileChannel.transferFrom写入。
+ * 目标路径在规范化后必须位于目标目录内，防止zip slip（只做字符串级别的路径计算，不产生额外的文件系统调用）。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class ParallelUnzipper {
+	
+	/**
+	 * 不超过该大小的条目整体读入内存后一次写出
+	 */
+	private static final int SMALL_ENTRY_SIZE = 64 * 1024;
+	
+	/**
+	 * transferFrom每次传输的最大字节数
+	 */
+	private static final long TRANSFER_CHUNK = 1024L * 1024;
+	
+	/**
+	 * 解压
+	 * @param zip : zip文件
+	 * @param destDir : 目标目录
+	 * @param glob : 条目名称的glob表达式（如 "**.txt"、"images/**"），为null时解压全部条目
+	 * @param parallelism : 并行度
+	 * @throws IOException
+	 */
+	public static void unzip(File zip, File destDir, String glob, int parallelism) throws IOException {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+		}
+		
+		Path dest = destDir.toPath().toAbsolutePath().normalize();
+		PathMatcher matcher = glob == null ? null : FileSystems.getDefault().getPathMatcher("glob:" + glob);
+		
+		try (ZipFile zipFile = new ZipFile(zip)) {
+			// 同名（或规范化后指向同一文件）的条目只保留最后一个，与逐个解压时后者覆盖前者的结果一致，也避免并发写同一个文件
+			Map<Path, ZipEntry> files = new LinkedHashMap<>();
+			TreeSet<Path> directories = new TreeSet<>();
+			directories.add(dest);
+			
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (matcher != null && !matcher.matches(Paths.get(entry.getName()))) {
+					continue;
+				}
+				
+				Path target = resolve(dest, entry.getName());
+				if (entry.isDirectory()) {
+					directories.add(target);
+				} else {
+					files.remove(target);
+					files.put(target, entry);
+					directories.add(target.getParent());
+				}
+			}
+			
+			for (Path directory : directories) {
+				Files.createDirectories(directory);
+			}
+			
+			extract(zipFile, new ArrayList<>(files.values()), new ArrayList<>(files.keySet()), parallelism);
+		}
+	}
+	
+	/**
+	 * 计算条目的目标路径，拒绝指向目标目录之外的条目
+	 */
+	private static Path resolve(Path dest, String name) throws IOException {
+		Path target = dest.resolve(name).normalize();
+		if (!target.startsWith(dest)) {
+			throw new IOException("Entry is outside of the target directory: " + name);
+		}
+		return target;
+	}
+	
+	private static void extract(ZipFile zipFile, List<ZipEntry> files, List<Path> targets, int parallelism) throws IOException {
+		if (parallelism == 1 || files.size() <= 1) {
+			for (int i = 0; i < files.size(); i++) {
+				write(zipFile, files.get(i), targets.get(i));
+			}
+			return;
+		}
+		
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			List<ForkJoinTask<Void>> tasks = new ArrayList<>(files.size());
+			for (int i = 0; i < files.size(); i++) {
+				ZipEntry entry = files.get(i);
+				Path target = targets.get(i);
+				tasks.add(pool.submit(() -> {
+					write(zipFile, entry, target);
+					return null;
+				}));
+			}
+			
+			for (ForkJoinTask<Void> task : tasks) {
+				await(task);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	private static void write(ZipFile zipFile, ZipEntry entry, Path target) throws IOException {
+		long size = entry.getSize();
+		try (InputStream in = zipFile.getInputStream(entry);
+				FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			if (size >= 0 && size <= SMALL_ENTRY_SIZE) {
+				ByteBuffer buffer = ByteBuffer.wrap(readFully(in, (int) size));
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				return;
+			}
+			
+			ReadableByteChannel source = Channels.newChannel(in);
+			long position = 0;
+			long transferred;
+			while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+				position += transferred;
+			}
+		}
+	}
+	
+	private static byte[] readFully(InputStream in, int size) throws IOException {
+		byte[] data = new byte[size];
+		int offset = 0;
+		int read;
+		while (offset < size && (read = in.read(data, offset, size - offset)) != -1) {
+			offset += read;
+		}
+		if (offset < size) {
+			throw new IOException("Unexpected end of zip entry");
+		}
+		return data;
+	}
+	
+	private static void await(ForkJoinTask<Void> task) throws IOException {
+		try {
+			task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while extracting", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+	
+}
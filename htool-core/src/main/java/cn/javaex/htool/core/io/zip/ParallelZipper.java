@@ -0,0 +1,128 @@
+package cn.javaex.htool.core.io.zip;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+import cn.javaex.htool.core.io.IOUtils;
+
+/**
+ * 并行压缩：各条目在ForkJoinPool中独立压缩，再由调用线程按原顺序拼接为一个zip文件
+ * <p>
+ * 同时压缩（含已压缩未写出）的条目数不超过并行度的2倍，单个条目压缩后超过 {@link #SPILL_THRESHOLD} 时溢出到临时文件，
+ * 内存占用与源文件总大小无关。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class ParallelZipper {
+	
+	/**
+	 * 单个条目压缩后在内存中保留的最大字节数
+	 */
+	public static final long SPILL_THRESHOLD = 4L * 1024 * 1024;
+	
+	/**
+	 * 写出压缩包的缓冲区大小
+	 */
+	private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * 压缩文件列表
+	 * @param files : 源文件
+	 * @param names : 与源文件一一对应的条目名称
+	 * @param zipFile : 压缩包
+	 * @param options : 压缩选项（压缩级别、STORED判定、并行度）
+	 * @throws IOException
+	 */
+	public static void zip(List<File> files, List<String> names, File zipFile, ZipOptions options) throws IOException {
+		if (files.size() != names.size()) {
+			throw new IllegalArgumentException("files and names must have the same size");
+		}
+		
+		int count = files.size();
+		int window = options.getParallelism() * 2;
+		ForkJoinPool pool = new ForkJoinPool(options.getParallelism());
+		List<ForkJoinTask<DeflatedEntry>> tasks = new ArrayList<>(count);
+		ZipArchiveWriter writer = null;
+		boolean success = false;
+		try {
+			writer = new ZipArchiveWriter(new BufferedOutputStream(new FileOutputStream(zipFile), OUTPUT_BUFFER_SIZE));
+			while (tasks.size() < Math.min(window, count)) {
+				tasks.add(submit(pool, files, names, options, tasks.size()));
+			}
+			
+			for (int i = 0; i < count; i++) {
+				DeflatedEntry entry = await(tasks.get(i));
+				tasks.set(i, null);
+				try {
+					writer.writeEntry(entry);
+				} finally {
+					entry.discard();
+				}
+				
+				if (tasks.size() < count) {
+					tasks.add(submit(pool, files, names, options, tasks.size()));
+				}
+			}
+			
+			writer.close();
+			success = true;
+		} finally {
+			if (success) {
+				pool.shutdown();
+			} else {
+				abort(pool, tasks);
+				IOUtils.closeQuietly(writer);
+				zipFile.delete();
+			}
+		}
+	}
+	
+	private static ForkJoinTask<DeflatedEntry> submit(ForkJoinPool pool, List<File> files, List<String> names, ZipOptions options, int index) {
+		File file = files.get(index);
+		String name = names.get(index);
+		return pool.submit(() -> DeflatedEntry.deflate(name, file, options, SPILL_THRESHOLD));
+	}
+	
+	private static DeflatedEntry await(ForkJoinTask<DeflatedEntry> task) throws IOException {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while compressing", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+	
+	/**
+	 * 失败时停止剩余任务，并删除已完成条目的临时文件
+	 */
+	private static void abort(ForkJoinPool pool, List<ForkJoinTask<DeflatedEntry>> tasks) {
+		pool.shutdownNow();
+		try {
+			pool.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		for (ForkJoinTask<DeflatedEntry> task : tasks) {
+			if (task != null && task.isDone() && !task.isCompletedAbnormally()) {
+				task.getRawResult().discard();
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,253 @@
+package cn.javaex.htool.core.io.zip;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 手工写出zip格式：把已压缩好的条目依次写入（本地文件头 + 数据），最后写中央目录
+ * <p>
+ * 条目的CRC和大小在写入前已知，不需要数据描述符，输出可被任何标准解压工具读取。
+ * 条目大小、偏移量超过4GB或条目数超过65535时自动写入ZIP64扩展字段和ZIP64结束记录。
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class ZipArchiveWriter implements Closeable {
+	
+	public static final int STORED = 0;
+	public static final int DEFLATED = 8;
+	
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+	private static final int ZIP64_EXTRA_ID = 0x0001;
+	private static final int VERSION = 20;
+	private static final int VERSION_ZIP64 = 45;
+	/**
+	 * 通用标志位：文件名使用UTF-8编码
+	 */
+	private static final int FLAG_UTF8 = 0x0800;
+	private static final long MAX_32 = 0xFFFFFFFFL;
+	private static final int MAX_16 = 0xFFFF;
+	
+	private final OutputStream out;
+	private final List<CentralRecord> records = new ArrayList<>();
+	private final byte[] scratch = new byte[128];
+	private long offset;
+	private boolean finished;
+	
+	public ZipArchiveWriter(OutputStream out) {
+		this.out = out;
+	}
+	
+	/**
+	 * 写入一个条目
+	 * @param entry : 已压缩的条目
+	 * @throws IOException
+	 */
+	public void writeEntry(DeflatedEntry entry) throws IOException {
+		byte[] name = entry.getName().getBytes(StandardCharsets.UTF_8);
+		CentralRecord record = new CentralRecord(name, entry, offset, toDosTime(entry.getTime()));
+		boolean zip64 = entry.getSize() >= MAX_32 || entry.getCompressedSize() >= MAX_32;
+		
+		int p = 0;
+		p = putInt(scratch, p, LOCAL_HEADER_SIGNATURE);
+		p = putShort(scratch, p, zip64 ? VERSION_ZIP64 : VERSION);
+		p = putShort(scratch, p, FLAG_UTF8);
+		p = putShort(scratch, p, entry.getMethod());
+		p = putInt(scratch, p, (int) record.dosTime);
+		p = putInt(scratch, p, (int) entry.getCrc());
+		p = putInt(scratch, p, zip64 ? (int) MAX_32 : (int) entry.getCompressedSize());
+		p = putInt(scratch, p, zip64 ? (int) MAX_32 : (int) entry.getSize());
+		p = putShort(scratch, p, name.length);
+		p = putShort(scratch, p, zip64 ? 20 : 0);
+		write(scratch, p);
+		write(name, name.length);
+		if (zip64) {
+			// 本地文件头的ZIP64扩展字段必须同时包含原始大小和压缩后大小
+			p = 0;
+			p = putShort(scratch, p, ZIP64_EXTRA_ID);
+			p = putShort(scratch, p, 16);
+			p = putLong(scratch, p, entry.getSize());
+			p = putLong(scratch, p, entry.getCompressedSize());
+			write(scratch, p);
+		}
+		
+		entry.writeDataTo(out);
+		offset += entry.getCompressedSize();
+		records.add(record);
+	}
+	
+	/**
+	 * 写出中央目录，不关闭底层输出流
+	 * @throws IOException
+	 */
+	public void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+		finished = true;
+		
+		long centralOffset = offset;
+		for (CentralRecord record : records) {
+			boolean sizeZip64 = record.size >= MAX_32;
+			boolean compressedZip64 = record.compressedSize >= MAX_32;
+			boolean offsetZip64 = record.localHeaderOffset >= MAX_32;
+			int extraLength = (sizeZip64 ? 8 : 0) + (compressedZip64 ? 8 : 0) + (offsetZip64 ? 8 : 0);
+			int version = extraLength > 0 ? VERSION_ZIP64 : VERSION;
+			
+			int p = 0;
+			p = putInt(scratch, p, CENTRAL_HEADER_SIGNATURE);
+			p = putShort(scratch, p, version);
+			p = putShort(scratch, p, version);
+			p = putShort(scratch, p, FLAG_UTF8);
+			p = putShort(scratch, p, record.method);
+			p = putInt(scratch, p, (int) record.dosTime);
+			p = putInt(scratch, p, (int) record.crc);
+			p = putInt(scratch, p, compressedZip64 ? (int) MAX_32 : (int) record.compressedSize);
+			p = putInt(scratch, p, sizeZip64 ? (int) MAX_32 : (int) record.size);
+			p = putShort(scratch, p, record.name.length);
+			p = putShort(scratch, p, extraLength > 0 ? extraLength + 4 : 0);
+			p = putShort(scratch, p, 0);	// comment
+			p = putShort(scratch, p, 0);	// disk
+			p = putShort(scratch, p, 0);	// internal attributes
+			p = putInt(scratch, p, 0);		// external attributes
+			p = putInt(scratch, p, offsetZip64 ? (int) MAX_32 : (int) record.localHeaderOffset);
+			write(scratch, p);
+			write(record.name, record.name.length);
+			if (extraLength > 0) {
+				// 中央目录的ZIP64扩展字段只包含头部中被置为0xFFFFFFFF的值，顺序固定
+				p = 0;
+				p = putShort(scratch, p, ZIP64_EXTRA_ID);
+				p = putShort(scratch, p, extraLength);
+				if (sizeZip64) {
+					p = putLong(scratch, p, record.size);
+				}
+				if (compressedZip64) {
+					p = putLong(scratch, p, record.compressedSize);
+				}
+				if (offsetZip64) {
+					p = putLong(scratch, p, record.localHeaderOffset);
+				}
+				write(scratch, p);
+			}
+		}
+		long centralSize = offset - centralOffset;
+		
+		int count = records.size();
+		boolean zip64 = count >= MAX_16 || centralSize >= MAX_32 || centralOffset >= MAX_32;
+		int p = 0;
+		if (zip64) {
+			long zip64EndOffset = offset;
+			p = putInt(scratch, p, ZIP64_END_SIGNATURE);
+			p = putLong(scratch, p, 44);
+			p = putShort(scratch, p, VERSION_ZIP64);
+			p = putShort(scratch, p, VERSION_ZIP64);
+			p = putInt(scratch, p, 0);
+			p = putInt(scratch, p, 0);
+			p = putLong(scratch, p, count);
+			p = putLong(scratch, p, count);
+			p = putLong(scratch, p, centralSize);
+			p = putLong(scratch, p, centralOffset);
+			p = putInt(scratch, p, ZIP64_LOCATOR_SIGNATURE);
+			p = putInt(scratch, p, 0);
+			p = putLong(scratch, p, zip64EndOffset);
+			p = putInt(scratch, p, 1);
+			write(scratch, p);
+			p = 0;
+		}
+		
+		p = putInt(scratch, p, END_SIGNATURE);
+		p = putShort(scratch, p, 0);
+		p = putShort(scratch, p, 0);
+		p = putShort(scratch, p, Math.min(count, MAX_16));
+		p = putShort(scratch, p, Math.min(count, MAX_16));
+		p = putInt(scratch, p, (int) Math.min(centralSize, MAX_32));
+		p = putInt(scratch, p, (int) Math.min(centralOffset, MAX_32));
+		p = putShort(scratch, p, 0);
+		write(scratch, p);
+		out.flush();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			finish();
+		} finally {
+			out.close();
+		}
+	}
+	
+	private void write(byte[] bytes, int len) throws IOException {
+		out.write(bytes, 0, len);
+		offset += len;
+	}
+	
+	private static int putShort(byte[] buffer, int p, int value) {
+		buffer[p] = (byte) value;
+		buffer[p + 1] = (byte) (value >>> 8);
+		return p + 2;
+	}
+	
+	private static int putInt(byte[] buffer, int p, int value) {
+		putShort(buffer, p, value);
+		putShort(buffer, p + 2, value >>> 16);
+		return p + 4;
+	}
+	
+	private static int putLong(byte[] buffer, int p, long value) {
+		putInt(buffer, p, (int) value);
+		putInt(buffer, p + 4, (int) (value >>> 32));
+		return p + 8;
+	}
+	
+	/**
+	 * 转为MS-DOS日期时间（本地时区，2秒精度，早于1980年时取1980-01-01）
+	 */
+	static long toDosTime(long time) {
+		LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		int year = dateTime.getYear();
+		if (year < 1980) {
+			return (1 << 21) | (1 << 16);
+		}
+		return ((long) (year - 1980) << 25)
+				| (dateTime.getMonthValue() << 21)
+				| (dateTime.getDayOfMonth() << 16)
+				| (dateTime.getHour() << 11)
+				| (dateTime.getMinute() << 5)
+				| (dateTime.getSecond() >> 1);
+	}
+	
+	/**
+	 * 写中央目录所需的条目信息（压缩数据写出后即可释放）
+	 */
+	private static class CentralRecord {
+		final byte[] name;
+		final int method;
+		final long crc;
+		final long size;
+		final long compressedSize;
+		final long localHeaderOffset;
+		final long dosTime;
+		
+		CentralRecord(byte[] name, DeflatedEntry entry, long localHeaderOffset, long dosTime) {
+			this.name = name;
+			this.method = entry.getMethod();
+			this.crc = entry.getCrc();
+			this.size = entry.getSize();
+			this.compressedSize = entry.getCompressedSize();
+			this.localHeaderOffset = localHeaderOffset;
+			this.dosTime = dosTime;
+		}
+	}
+	
+}
@@ -0,0 +1,171 @@
+package cn.javaex.htool.core.io.zip;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * 压缩选项：压缩级别、不压缩（STORED）的判定规则、并行度
+ * <p>
+ * 示例：new ZipOptions().level(Deflater.BEST_SPEED).parallelism(8)
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class ZipOptions {
+	
+	/**
+	 * 默认不再压缩的扩展名（本身已经是压缩格式）
+	 */
+	public static final Set<String> DEFAULT_STORED_EXTENSIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			"jpg", "jpeg", "png", "gif", "webp", "heic",
+			"mp3", "aac", "ogg", "flac", "m4a",
+			"mp4", "m4v", "mkv", "avi", "mov", "webm", "flv",
+			"zip", "rar", "7z", "gz", "tgz", "bz2", "xz", "zst", "lz4", "jar", "war",
+			"docx", "xlsx", "pptx", "pdf", "apk")));
+	
+	/**
+	 * 试压缩的样本大小
+	 */
+	public static final int DEFAULT_TRIAL_SIZE = 64 * 1024;
+	
+	/**
+	 * 默认试压缩比阈值：压缩后大于原大小的95%时改为STORED
+	 */
+	public static final double DEFAULT_MIN_RATIO = 0.95;
+	
+	/**
+	 * 压缩级别（0 ~ 9，-1为默认级别）
+	 */
+	private int level = Deflater.DEFAULT_COMPRESSION;
+	/**
+	 * 不压缩的扩展名（小写，不带"."）
+	 */
+	private Set<String> storedExtensions = new HashSet<>(DEFAULT_STORED_EXTENSIONS);
+	/**
+	 * 试压缩的样本大小（0表示不试压缩）
+	 */
+	private int trialSize = DEFAULT_TRIAL_SIZE;
+	/**
+	 * 试压缩后 压缩大小/原大小 超过该值时改为STORED
+	 */
+	private double minRatio = DEFAULT_MIN_RATIO;
+	/**
+	 * 并行度
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	
+	/**
+	 * 设置压缩级别
+	 * @param level : 0 ~ 9，-1为默认级别；0时所有条目使用STORED
+	 * @return
+	 */
+	public ZipOptions level(int level) {
+		if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+			throw new IllegalArgumentException("level must be in [-1, 9]: " + level);
+		}
+		this.level = level;
+		return this;
+	}
+	
+	/**
+	 * 设置不压缩的扩展名
+	 * @param extensions : 扩展名（不区分大小写，不带"."），为空时不按扩展名判定
+	 * @return
+	 */
+	public ZipOptions storedExtensions(String... extensions) {
+		Set<String> set = new HashSet<>();
+		for (String extension : extensions) {
+			set.add(extension.toLowerCase(Locale.ROOT));
+		}
+		this.storedExtensions = set;
+		return this;
+	}
+	
+	/**
+	 * 设置试压缩规则
+	 * @param trialSize : 样本大小，0表示不试压缩
+	 * @param minRatio : 压缩大小/原大小 超过该值时改为STORED
+	 * @return
+	 */
+	public ZipOptions trial(int trialSize, double minRatio) {
+		if (trialSize < 0) {
+			throw new IllegalArgumentException("trialSize must not be negative: " + trialSize);
+		}
+		this.trialSize = trialSize;
+		this.minRatio = minRatio;
+		return this;
+	}
+	
+	/**
+	 * 设置并行度
+	 * @param parallelism : 同时压缩的线程数
+	 * @return
+	 */
+	public ZipOptions parallelism(int parallelism) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+		}
+		this.parallelism = parallelism;
+		return this;
+	}
+	
+	/**
+	 * 按扩展名判断是否不压缩
+	 * @param name : 条目名称
+	 * @return
+	 */
+	public boolean isStoredByName(String name) {
+		if (level == Deflater.NO_COMPRESSION) {
+			return true;
+		}
+		
+		int dot = name.lastIndexOf('.');
+		if (dot < 0 || dot < Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\'))) {
+			return false;
+		}
+		return storedExtensions.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+	}
+	
+	/**
+	 * 对样本试压缩，判断是否不压缩
+	 * @param sample : 样本数据
+	 * @param len : 样本长度
+	 * @return
+	 */
+	public boolean isStoredByTrial(byte[] sample, int len) {
+		if (trialSize == 0 || len <= 0) {
+			return false;
+		}
+		
+		Deflater deflater = new Deflater(level, true);
+		try {
+			deflater.setInput(sample, 0, len);
+			deflater.finish();
+			byte[] output = new byte[len + 64];
+			int compressed = 0;
+			while (!deflater.finished()) {
+				compressed += deflater.deflate(output);
+			}
+			return compressed > len * minRatio;
+		} finally {
+			deflater.end();
+		}
+	}
+	
+	public int getLevel() {
+		return level;
+	}
+	
+	public int getTrialSize() {
+		return trialSize;
+	}
+	
+	public int getParallelism() {
+		return parallelism;
+	}
+	
+}
@@ -0,0 +1,226 @@
+package cn.javaex.htool.core.io.zip;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 流式zip写入：条目来自任意InputStream、Path或字节数组，直接写入任意OutputStream
+ * <p>
+ * 每个条目边读边压缩边输出，内存占用固定（一个缓冲区加Deflater状态），不需要先在磁盘上生成压缩包，首字节时间与压缩包大小无关。
+ * 按 {@link ZipOptions} 判定为不压缩的条目：来自Path的使用STORED（先计算一遍CRC），来自InputStream的以0级别写出。
+ * <p>
+ * 示例：
+ * <pre>
+ * try (ZipWriter writer = ZipWriter.of(response, "报表.zip")) {
+ *     writer.putEntry("a.xlsx", Paths.get("/data/a.xlsx"));
+ *     writer.putEntry("readme.txt", inputStream);
+ * }
+ * </pre>
+ * 
+ * @author 陈霓清
+ * @Date 2026年10月17日
+ */
+public class ZipWriter implements Closeable {
+	
+	/**
+	 * 读取条目内容和写出压缩数据的缓冲区大小
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	private final ZipOutputStream zos;
+	private final ZipOptions options;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	/**
+	 * 试压缩的样本，首次使用时创建
+	 */
+	private byte[] sample;
+	
+	/**
+	 * @param out : 输出流，关闭ZipWriter时一并关闭
+	 */
+	public ZipWriter(OutputStream out) {
+		this(out, new ZipOptions());
+	}
+	
+	/**
+	 * @param out : 输出流，关闭ZipWriter时一并关闭
+	 * @param options : 压缩选项（并行度不生效）
+	 */
+	public ZipWriter(OutputStream out, ZipOptions options) {
+		this.zos = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+		this.options = options;
+	}
+	
+	/**
+	 * 以附件下载的形式写入HTTP响应
+	 * @param response : HTTP响应
+	 * @param filename : 下载的文件名（带后缀）
+	 * @return
+	 * @throws IOException
+	 */
+	public static ZipWriter of(HttpServletResponse response, String filename) throws IOException {
+		return of(response, filename, new ZipOptions());
+	}
+	
+	/**
+	 * 以附件下载的形式写入HTTP响应
+	 * @param response : HTTP响应
+	 * @param filename : 下载的文件名（带后缀）
+	 * @param options : 压缩选项
+	 * @return
+	 * @throws IOException
+	 */
+	public static ZipWriter of(HttpServletResponse response, String filename, ZipOptions options) throws IOException {
+		response.setContentType("application/zip");
+		response.setHeader("Content-disposition", "attachment; filename=" + URLEncoder.encode(filename, "UTF-8"));
+		return new ZipWriter(response.getOutputStream(), options);
+	}
+	
+	/**
+	 * 写入一个条目，内容读取自输入流（不关闭输入流）
+	 * @param name : 条目名称，用"/"分隔目录
+	 * @param in : 输入流
+	 * @return
+	 * @throws IOException
+	 */
+	public ZipWriter putEntry(String name, InputStream in) throws IOException {
+		BufferedInputStream sampled = new BufferedInputStream(in, Math.max(BUFFER_SIZE, options.getTrialSize()));
+		boolean stored = options.isStoredByName(name) || isStoredByTrial(sampled);
+		
+		ZipEntry entry = new ZipEntry(name);
+		entry.setTime(System.currentTimeMillis());
+		zos.setLevel(stored ? Deflater.NO_COMPRESSION : options.getLevel());
+		return writeEntry(entry, sampled);
+	}
+	
+	/**
+	 * 写入一个条目，内容读取自文件
+	 * @param name : 条目名称，用"/"分隔目录
+	 * @param path : 文件
+	 * @return
+	 * @throws IOException
+	 */
+	public ZipWriter putEntry(String name, Path path) throws IOException {
+		ZipEntry entry = new ZipEntry(name);
+		entry.setTime(Files.getLastModifiedTime(path).toMillis());
+		
+		try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(path), Math.max(BUFFER_SIZE, options.getTrialSize()))) {
+			if (!options.isStoredByName(name) && !isStoredByTrial(in)) {
+				zos.setLevel(options.getLevel());
+				return writeEntry(entry, in);
+			}
+		}
+		
+		// STORED要求在写入前知道CRC和大小
+		CRC32 crc = new CRC32();
+		long size = 0;
+		try (InputStream in = Files.newInputStream(path)) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				crc.update(buffer, 0, read);
+				size += read;
+			}
+		}
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(size);
+		entry.setCompressedSize(size);
+		entry.setCrc(crc.getValue());
+		try (InputStream in = Files.newInputStream(path)) {
+			return writeEntry(entry, in);
+		}
+	}
+	
+	/**
+	 * 写入一个条目，内容为字节数组
+	 * @param name : 条目名称，用"/"分隔目录
+	 * @param bytes : 内容
+	 * @return
+	 * @throws IOException
+	 */
+	public ZipWriter putEntry(String name, byte[] bytes) throws IOException {
+		return putEntry(name, new ByteArrayInputStream(bytes));
+	}
+	
+	/**
+	 * 写入一个空目录
+	 * @param name : 目录名称
+	 * @return
+	 * @throws IOException
+	 */
+	public ZipWriter putDirectory(String name) throws IOException {
+		ZipEntry entry = new ZipEntry(name.endsWith("/") ? name : name + "/");
+		zos.putNextEntry(entry);
+		zos.closeEntry();
+		return this;
+	}
+	
+	/**
+	 * 把已写出的数据推送给输出流
+	 * @throws IOException
+	 */
+	public void flush() throws IOException {
+		zos.flush();
+	}
+	
+	/**
+	 * 写出中央目录，但不关闭输出流
+	 * @throws IOException
+	 */
+	public void finish() throws IOException {
+		zos.finish();
+		zos.flush();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		zos.close();
+	}
+	
+	/**
+	 * 读取开头样本试压缩，读取后回到流的开头
+	 */
+	private boolean isStoredByTrial(BufferedInputStream in) throws IOException {
+		int trialSize = options.getTrialSize();
+		if (trialSize == 0) {
+			return false;
+		}
+		
+		if (sample == null || sample.length < trialSize) {
+			sample = new byte[trialSize];
+		}
+		in.mark(trialSize);
+		int len = 0;
+		int read;
+		while (len < trialSize && (read = in.read(sample, len, trialSize - len)) != -1) {
+			len += read;
+		}
+		in.reset();
+		return options.isStoredByTrial(sample, len);
+	}
+	
+	private ZipWriter writeEntry(ZipEntry entry, InputStream in) throws IOException {
+		zos.putNextEntry(entry);
+		
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			zos.write(buffer, 0, read);
+		}
+		zos.closeEntry();
+		return this;
+	}
+	
+}